@@ -0,0 +1,89 @@
+package com.give928.querydsl.benchmark;
+
+import com.give928.querydsl.QuerydslApplication;
+import com.give928.querydsl.dto.MemberSearchCondition;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ * 인메모리 H2 에 스키마를 만들고 members 건의 회원을 teams 개 팀에 고르게 나눠 넣는다.
+ * - username: member{id}
+ * - age: id % 100
+ * - team: team{id % teams}
+ */
+public final class BenchmarkContext {
+    public static final int TEAMS = 10;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * args 로 넘긴 --key=value 는 같은 키의 기본값을 덮어쓴다.
+     * (같은 옵션이 두 번 넘어가면 스프링은 값을 쉼표로 이어 붙인다)
+     */
+    public static ConfigurableApplicationContext start(String name, String... args) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        arguments.put("spring.profiles.active", "bench");
+        arguments.put("spring.datasource.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        arguments.put("spring.jpa.properties.hibernate.use_sql_comments", "false");
+        arguments.put("spring.jpa.properties.hibernate.format_sql", "false");
+        arguments.put("logging.level.root", "warn");
+        arguments.put("logging.level.org.hibernate.SQL", "warn");
+        arguments.put("decorator.datasource.p6spy.enable-logging", "false");
+        // 매 호출마다 쿼리 비용을 측정하기 위해 count 캐시, 검색 결과 캐시, 같은 검색 합류(single-flight)를 끈다.
+        arguments.put("querydsl.count-cache.ttl", "0s");
+        arguments.put("querydsl.result-cache.enabled", "false");
+        arguments.put("querydsl.search.coalescing.enabled", "false");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            arguments.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String[] commandLine = arguments.entrySet().stream()
+                .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(commandLine);
+    }
+
+    public static void seed(ConfigurableApplicationContext context, int members) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into team (team_id, name) "
+                                    + "select x, concat('team', x - 1) from system_range(1, ?)", TEAMS);
+        jdbcTemplate.update("insert into member (member_id, username, age, team_id) "
+                                    + "select x, concat('member', x), mod(x, 100), mod(x, ?) + 1 from system_range(1, ?)",
+                            TEAMS, members);
+        // 직접 넣은 id 와 겹치지 않도록 시퀀스를 뒤로 민다.
+        jdbcTemplate.execute("alter sequence team_seq restart with " + (TEAMS + 100));
+        jdbcTemplate.execute("alter sequence member_seq restart with " + (members + 100L));
+        jdbcTemplate.execute("analyze");
+    }
+
+    /**
+     * 벤치마크 @Param 으로 사용하는 조건 모양
+     */
+    public static MemberSearchCondition condition(String shape) {
+        switch (shape) {
+            case "none":
+                return MemberSearchCondition.builder().build();
+            case "username":
+                return MemberSearchCondition.builder().username("member77").build();
+            case "teamName":
+                return MemberSearchCondition.builder().teamName("team3").build();
+            case "ageRange":
+                return MemberSearchCondition.builder().ageGoe(30).ageLoe(35).build();
+            case "teamNameAndAgeRange":
+                return MemberSearchCondition.builder().teamName("team3").ageGoe(30).ageLoe(35).build();
+            case "all":
+                return MemberSearchCondition.builder().username("member77").teamName("team7").ageGoe(70).ageLoe(80).build();
+            default:
+                throw new IllegalArgumentException("Unknown condition shape: " + shape);
+        }
+    }
+}
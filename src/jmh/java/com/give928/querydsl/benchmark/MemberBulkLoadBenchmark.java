@@ -0,0 +1,65 @@
+package com.give928.querydsl.benchmark;
+
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.repository.MemberJpaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * MemberJpaRepository.saveAll 대량 저장 처리량
+ * @OperationsPerInvocation 으로 한 번의 호출을 ROWS 건으로 나누므로 결과가 초당 저장 건수(rows/s)로 나온다.
+ * ./gradlew jmh -Pjmh.includes=MemberBulkLoadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberBulkLoadBenchmark {
+    private static final int ROWS = 100_000;
+
+    @Param({"100", "1000", "10000"})
+    public int chunkSize;
+
+    @Param({"1", "100"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private MemberJpaRepository memberJpaRepository;
+    private Team team;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("bulk" + chunkSize + "_" + jdbcBatchSize,
+                                         "--querydsl.bulk.chunk-size=" + chunkSize,
+                                         "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+        BenchmarkContext.seed(context, 0);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        team = Team.builder().id(1L).name("team0").build(); // seed 로 저장된 팀 (준영속)
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        jdbcTemplate.execute("truncate table member");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long saveAll() {
+        return memberJpaRepository.saveAll(IntStream.range(0, ROWS).mapToObj(i -> {
+            Member member = Member.builder().username("member" + i).age(i % 100).build();
+            member.setTeam(team);
+            return member;
+        }));
+    }
+}
@@ -0,0 +1,70 @@
+package com.give928.querydsl.benchmark;
+
+import com.give928.querydsl.dto.MemberColumns;
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.repository.MemberJpaRepository;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.give928.querydsl.entity.QMember.member;
+
+/**
+ * 팀별 나이 합계 집계, Tuple 조회와 컬럼형 조회 비교 (gc.alloc.rate.norm 로 할당량 차이를 본다)
+ * ./gradlew jmh -Pjmh.includes=MemberColumnarBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MemberColumnarBenchmark {
+    @Param({"100000", "1000000"})
+    public int members;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private JPAQueryFactory queryFactory;
+    private MemberJpaRepository memberJpaRepository;
+    private MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("columnar" + members);
+        BenchmarkContext.seed(context, members);
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        condition = MemberSearchCondition.builder().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<Long, Long> tuple() {
+        return readOnlyTransaction.execute(status -> {
+            Map<Long, Long> sums = new HashMap<>();
+            for (Tuple tuple : queryFactory.select(member.id, member.age, member.team.id).from(member).fetch()) {
+                sums.merge(tuple.get(member.team.id), (long) tuple.get(member.age), Long::sum);
+            }
+            return sums;
+        });
+    }
+
+    @Benchmark
+    public long[] columnar() {
+        return readOnlyTransaction.execute(status -> {
+            MemberColumns columns = memberJpaRepository.findColumns(condition);
+            return columns.ageSumByTeamCode();
+        });
+    }
+}
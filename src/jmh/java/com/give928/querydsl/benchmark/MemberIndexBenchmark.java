@@ -0,0 +1,95 @@
+package com.give928.querydsl.benchmark;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.repository.MemberRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대용량 데이터셋에서 조건 모양별 인덱스 유무에 따른 지연 시간
+ * indexed=false 이면 Member 에 선언한 인덱스와 team_id 외래 키를 삭제한 뒤 측정한다. (PK, team.name 자연 키 unique 제약은 유지)
+ * ./gradlew jmh -Pjmh.includes=MemberIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class MemberIndexBenchmark {
+    private static final String[] MEMBER_INDEXES = {"idx_member_username", "idx_member_team_id_age", "idx_member_age"};
+
+    @Param({"1000000", "10000000"})
+    public int members;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    @Param({"username", "teamName", "ageRange", "teamNameAndAgeRange"})
+    public String shape;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private MemberRepository memberRepository;
+    private MemberSearchCondition condition;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("index" + members + indexed + shape);
+        BenchmarkContext.seed(context, members);
+        if (!indexed) {
+            dropMemberIndexes(context.getBean(JdbcTemplate.class));
+        }
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        memberRepository = context.getBean(MemberRepository.class);
+        condition = BenchmarkContext.condition(shape);
+        pageable = PageRequest.of(0, 20);
+    }
+
+    /**
+     * H2 는 team_id 외래 키 제약에 idx_member_team_id_age 를 사용하므로 인덱스만 삭제할 수 없다. (INDEX_BELONGS_TO_CONSTRAINT)
+     * 외래 키를 다시 추가하면 H2 가 team_id 인덱스를 새로 만들기 때문에 측정 동안은 외래 키 없이 조회만 한다.
+     */
+    private void dropMemberIndexes(JdbcTemplate jdbcTemplate) {
+        List<String> foreignKeys = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            List<String> names = new ArrayList<>();
+            try (ResultSet resultSet = connection.getMetaData().getImportedKeys(null, null, "MEMBER")) {
+                while (resultSet.next()) {
+                    names.add(resultSet.getString("FK_NAME"));
+                }
+            }
+            return names;
+        });
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("alter table member drop constraint " + foreignKey);
+        }
+        for (String index : MEMBER_INDEXES) {
+            jdbcTemplate.execute("drop index if exists " + index);
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageComplex() {
+        return readOnlyTransaction.execute(status -> memberRepository.searchPageComplex(condition, pageable));
+    }
+}
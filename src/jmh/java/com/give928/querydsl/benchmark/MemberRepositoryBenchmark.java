@@ -0,0 +1,87 @@
+package com.give928.querydsl.benchmark;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.repository.MemberJpaRepository;
+import com.give928.querydsl.repository.MemberRepository;
+import com.give928.querydsl.repository.MemberSupportRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 리포지토리 조회 방식별 비교
+ * ./gradlew jmh -Pjmh.includes=MemberRepositoryBenchmark
+ */
+@State(Scope.Benchmark)
+public class MemberRepositoryBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int members;
+
+    @Param({"none", "username", "teamName", "ageRange", "teamNameAndAgeRange"})
+    public String shape;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private MemberJpaRepository memberJpaRepository;
+    private MemberRepository memberRepository;
+    private MemberSupportRepository memberSupportRepository;
+    private MemberSearchCondition condition;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("repository" + members + shape);
+        BenchmarkContext.seed(context, members);
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberSupportRepository = context.getBean(MemberSupportRepository.class);
+        condition = BenchmarkContext.condition(shape);
+        pageable = PageRequest.of(1, 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchByBuilder() {
+        return readOnlyTransaction.execute(status -> memberJpaRepository.searchByBuilder(condition));
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchByWhereParameter() {
+        return readOnlyTransaction.execute(status -> memberJpaRepository.search(condition));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageSimple() {
+        return readOnlyTransaction.execute(status -> memberRepository.searchPageSimple(condition, pageable));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageComplex() {
+        return readOnlyTransaction.execute(status -> memberRepository.searchPageComplex(condition, pageable));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageByQuerydslRepositorySupport() {
+        return readOnlyTransaction.execute(status -> memberRepository.searchPageByQuerydslRepositorySupport(condition, pageable));
+    }
+
+    @Benchmark
+    public Page<Member> applyPagination() {
+        return readOnlyTransaction.execute(status -> memberSupportRepository.applyPagination(condition, pageable));
+    }
+}
@@ -0,0 +1,74 @@
+package com.give928.querydsl.benchmark;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.dto.QMemberTeamDto;
+import com.give928.querydsl.repository.MemberSearchQueryRegistry;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.give928.querydsl.entity.QMember.member;
+import static com.give928.querydsl.entity.QTeam.team;
+
+/**
+ * 요청마다 Querydsl 표현식을 만들고 직렬화하는 search 와, 조건 모양별 쿼리 템플릿을 재사용하는 search 비교
+ * 쿼리 실행 비용이 작은 데이터셋에서 요청당 CPU 시간과 할당량(gc.alloc.rate.norm)의 차이를 본다.
+ * 같은 SQL 을 비교하도록 querydsl 쪽도 템플릿과 같은 조건(team.name 일치, username 일치)과 정렬(m.id)로 만든다.
+ * (MemberJpaRepository.search 는 팀 이름을 팀 id 로 바꾸고 정렬하지 않으므로 비교 대상이 아니다)
+ * ./gradlew jmh -Pjmh.includes=MemberSearchTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+public class MemberSearchTemplateBenchmark {
+    @Param({"1000"})
+    public int members;
+
+    @Param({"username", "teamNameAndAgeRange", "all"})
+    public String shape;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private JPAQueryFactory queryFactory;
+    private MemberSearchQueryRegistry memberSearchQueryRegistry;
+    private MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("template" + shape);
+        BenchmarkContext.seed(context, members);
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        memberSearchQueryRegistry = context.getBean(MemberSearchQueryRegistry.class);
+        condition = BenchmarkContext.condition(shape);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> querydsl() {
+        return readOnlyTransaction.execute(status -> queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(condition.getUsername() != null ? member.username.eq(condition.getUsername()) : null,
+                       condition.getTeamName() != null ? team.name.eq(condition.getTeamName()) : null,
+                       condition.getAgeGoe() != null ? member.age.goe(condition.getAgeGoe()) : null,
+                       condition.getAgeLoe() != null ? member.age.loe(condition.getAgeLoe()) : null)
+                .orderBy(member.id.asc())
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> template() {
+        return readOnlyTransaction.execute(status -> memberSearchQueryRegistry.search(condition));
+    }
+}
@@ -0,0 +1,79 @@
+package com.give928.querydsl.benchmark;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.repository.MemberRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * SQL 로그 설정별 조회 처리량 비교
+ * 콘솔 출력 비용이 섞이지 않도록 모든 모드의 로그를 build/jmh 아래 파일로 보낸다.
+ * - off: SQL 로그 없음 (기준값)
+ * - current: application.yml 설정 (org.hibernate.SQL debug, 주석/포맷팅, p6spy 동기 로그)
+ * - production: application-prod.yml 설정 (SampledSqlLogger 1% 샘플링, 비동기)
+ * ./gradlew jmh -Pjmh.includes=SqlLoggingBenchmark
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class SqlLoggingBenchmark {
+    private static final int MEMBERS = 10_000;
+
+    @Param({"off", "current", "production"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private MemberRepository memberRepository;
+    private MemberSearchCondition condition;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("sqlLogging" + mode, arguments(mode));
+        BenchmarkContext.seed(context, MEMBERS);
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        memberRepository = context.getBean(MemberRepository.class);
+        condition = BenchmarkContext.condition("teamNameAndAgeRange");
+        pageable = PageRequest.of(1, 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageComplex() {
+        return readOnlyTransaction.execute(status -> memberRepository.searchPageComplex(condition, pageable));
+    }
+
+    private static String[] arguments(String mode) {
+        String logFile = "--logging.file.name=build/jmh/sql-logging-" + mode + ".log";
+        String noConsole = "--logging.pattern.console=";
+        switch (mode) {
+            case "off":
+                return new String[]{logFile, noConsole};
+            case "current":
+                return new String[]{logFile, noConsole,
+                        "--spring.jpa.properties.hibernate.use_sql_comments=true",
+                        "--spring.jpa.properties.hibernate.format_sql=true",
+                        "--logging.level.org.hibernate.SQL=debug",
+                        "--logging.level.p6spy=info",
+                        "--decorator.datasource.p6spy.enable-logging=true"};
+            case "production":
+                return new String[]{logFile, noConsole,
+                        "--spring.profiles.active=bench,prod",
+                        "--logging.level.com.give928.querydsl.monitoring.SampledSqlLogger=info"};
+            default:
+                throw new IllegalArgumentException("Unknown logging mode: " + mode);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.give928.querydsl;
 
 import com.give928.querydsl.entity.Member;
 import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.repository.MemberJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -24,10 +25,13 @@ public class InitMember {
     }
 
     @Component
+    @RequiredArgsConstructor
     static class InitMemberService {
         @PersistenceContext
         private EntityManager em;
 
+        private final MemberJpaRepository memberJpaRepository;
+
         @Transactional
         public void init() {
             Team teamA = Team.builder().name("teamA").build();
@@ -35,11 +39,11 @@ public class InitMember {
             em.persist(teamA);
             em.persist(teamB);
 
-            IntStream.rangeClosed(1, 100).forEach(i -> {
-                Team team = i % 2 == 0 ? teamA : teamB;
-                Member member = Member.builder().username("member" + i).age(i).team(team).build();
-                em.persist(member);
-            });
+            memberJpaRepository.saveAll(IntStream.rangeClosed(1, 100).mapToObj(i -> {
+                Member member = Member.builder().username("member" + i).age(i).build();
+                member.setTeam(i % 2 == 0 ? teamA : teamB);
+                return member;
+            }));
         }
     }
 }
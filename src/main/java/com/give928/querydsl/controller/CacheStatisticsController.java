@@ -0,0 +1,43 @@
+package com.give928.querydsl.controller;
+
+import com.give928.querydsl.dto.CacheStatisticsDto;
+import com.give928.querydsl.entity.Team;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+/**
+ * 하이버네이트 2차 캐시 통계 (hibernate.generate_statistics: true 필요)
+ */
+@RestController
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @GetMapping("/api/stats/second-level-cache")
+    public List<CacheStatisticsDto> secondLevelCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return List.of(regionStatistics(statistics, Team.class));
+    }
+
+    private CacheStatisticsDto regionStatistics(Statistics statistics, Class<?> entityClass) {
+        String region = entityClass.getName();
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        NaturalIdStatistics naturalIdStatistics = statistics.getNaturalIdStatistics(region);
+        return new CacheStatisticsDto(region,
+                                      regionStatistics.getHitCount(),
+                                      regionStatistics.getMissCount(),
+                                      regionStatistics.getPutCount(),
+                                      regionStatistics.getElementCountInMemory(),
+                                      naturalIdStatistics.getCacheHitCount(),
+                                      naturalIdStatistics.getCacheMissCount(),
+                                      naturalIdStatistics.getCachePutCount());
+    }
+}
@@ -1,35 +1,141 @@
 package com.give928.querydsl.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.give928.querydsl.dto.MemberCompactPage;
+import com.give928.querydsl.dto.MemberCursorPage;
 import com.give928.querydsl.dto.MemberSearchCondition;
 import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
 import com.give928.querydsl.repository.MemberJpaRepository;
 import com.give928.querydsl.repository.MemberRepository;
+import com.give928.querydsl.repository.support.TableVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final TableVersion tableVersion;
 
     @GetMapping("/api/v1/members")
     public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
         return memberJpaRepository.search(condition);
     }
 
+    /**
+     * 조건, 페이지, 회원/팀 테이블 버전이 같으면 DB 를 조회하지 않고 304 Not Modified 로 응답한다.
+     */
     @GetMapping("/api/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable, WebRequest webRequest) {
+        if (webRequest.checkNotModified(etag("v2", condition, pageable, false))) {
+            return null;
+        }
         return memberRepository.searchPageSimple(condition, pageable);
     }
 
     @GetMapping("/api/v3/members")
-    public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
+    public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable,
+                                              @RequestParam(defaultValue = "false") boolean estimatedTotal,
+                                              WebRequest webRequest) {
+        if (webRequest.checkNotModified(etag("v3", condition, pageable, estimatedTotal))) {
+            return null;
+        }
+        return searchPage(condition, pageable, estimatedTotal);
+    }
+
+    @GetMapping(value = "/api/v3/members", params = "format=compact")
+    public MemberCompactPage searchMemberV3Compact(MemberSearchCondition condition, Pageable pageable,
+                                                   @RequestParam(defaultValue = "false") boolean estimatedTotal,
+                                                   WebRequest webRequest) {
+        if (webRequest.checkNotModified(etag("v3-compact", condition, pageable, estimatedTotal))) {
+            return null;
+        }
+        return MemberCompactPage.of(searchPage(condition, pageable, estimatedTotal));
+    }
+
+    @GetMapping(value = "/api/v3/members", produces = {MemberCompactPage.MEDIA_TYPE, "application/cbor"})
+    public MemberCompactPage searchMemberV3CompactByAccept(MemberSearchCondition condition, Pageable pageable,
+                                                           @RequestParam(defaultValue = "false") boolean estimatedTotal,
+                                                           WebRequest webRequest) {
+        String variant = "v3-compact-" + webRequest.getHeader(HttpHeaders.ACCEPT);
+        if (webRequest.checkNotModified(etag(variant, condition, pageable, estimatedTotal))) {
+            return null;
+        }
+        return MemberCompactPage.of(searchPage(condition, pageable, estimatedTotal));
+    }
+
+    @GetMapping("/api/v4/members")
+    public MemberCursorPage searchMemberV4(MemberSearchCondition condition,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MemberCursorPage.MAX_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                              "size must be between 1 and " + MemberCursorPage.MAX_SIZE);
+        }
+        Long lastMemberId;
+        try {
+            lastMemberId = MemberCursorPage.decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return MemberCursorPage.of(memberRepository.searchAfter(condition, lastMemberId, size));
+    }
+
+    @GetMapping("/api/members/export")
+    public void exportMembers(MemberSearchCondition condition,
+                              @RequestParam(defaultValue = "NDJSON") MemberExportFormat format,
+                              HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        format.writeHeader(writer);
+        memberJpaRepository.export(condition, dto -> {
+            try {
+                format.writeRow(writer, objectMapper, dto);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable, boolean estimatedTotal) {
+        if (estimatedTotal) {
+            return memberRepository.searchPageEstimated(condition, pageable);
+        }
         return memberRepository.searchPageComplex(condition, pageable);
     }
+
+    /**
+     * epoch-테이블 버전-요청 해시
+     * 버전은 조회 전에 읽으므로, 조회 중 변경이 커밋되면 다음 요청의 ETag 가 달라져 다시 조회한다.
+     */
+    private String etag(String variant, MemberSearchCondition condition, Pageable pageable, boolean estimatedTotal) {
+        int request = Objects.hash(variant, condition.normalized(), pageable, estimatedTotal);
+        return tableVersion.getEpoch() + "-" + tableVersion.current(Member.class, Team.class) + "-"
+                + Integer.toHexString(request);
+    }
 }
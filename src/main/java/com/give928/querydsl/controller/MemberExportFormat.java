@@ -0,0 +1,68 @@
+package com.give928.querydsl.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.give928.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * /api/members/export 응답 포맷
+ */
+public enum MemberExportFormat {
+    NDJSON("application/x-ndjson") {
+        @Override
+        void writeHeader(Writer writer) {
+        }
+
+        @Override
+        void writeRow(Writer writer, ObjectMapper objectMapper, MemberTeamDto dto) throws IOException {
+            writer.write(objectMapper.writeValueAsString(dto));
+            writer.write('\n');
+        }
+    },
+    CSV("text/csv") {
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.write("memberId,username,age,teamId,teamName\n");
+        }
+
+        @Override
+        void writeRow(Writer writer, ObjectMapper objectMapper, MemberTeamDto dto) throws IOException {
+            writer.write(String.valueOf(dto.getMemberId()));
+            writer.write(',');
+            writer.write(escape(dto.getUsername()));
+            writer.write(',');
+            writer.write(String.valueOf(dto.getAge()));
+            writer.write(',');
+            writer.write(dto.getTeamId() != null ? String.valueOf(dto.getTeamId()) : "");
+            writer.write(',');
+            writer.write(escape(dto.getTeamName()));
+            writer.write('\n');
+        }
+    };
+
+    private final String contentType;
+
+    MemberExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    abstract void writeHeader(Writer writer) throws IOException;
+
+    abstract void writeRow(Writer writer, ObjectMapper objectMapper, MemberTeamDto dto) throws IOException;
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,29 @@
+package com.give928.querydsl.controller;
+
+import com.give928.querydsl.dto.TeamMembersDto;
+import com.give928.querydsl.dto.TeamStatsDto;
+import com.give928.querydsl.repository.TeamJpaRepository;
+import com.give928.querydsl.repository.readmodel.TeamStatsModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+    private final TeamJpaRepository teamJpaRepository;
+    private final TeamStatsModel teamStatsModel;
+
+    @GetMapping("/api/teams")
+    public List<TeamMembersDto> teams(Pageable pageable) {
+        return teamJpaRepository.findAllWithMembers(pageable);
+    }
+
+    @GetMapping("/api/teams/stats")
+    public List<TeamStatsDto> teamStats() {
+        return teamStatsModel.findAll();
+    }
+}
@@ -0,0 +1,60 @@
+package com.give928.querydsl.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 읽기/쓰기 데이터소스 분리 (querydsl.datasource.replica.enabled: true)
+ * - primaryDataSource: spring.datasource 설정, 쓰기와 읽기/쓰기 트랜잭션
+ * - replicaDataSource: querydsl.datasource.replica 설정, @Transactional(readOnly = true) 조회
+ * 레플리카로의 복제는 DB 가 담당한다. (스키마 생성 ddl-auto 도 primary 에만 적용된다)
+ */
+@Configuration
+@ConditionalOnProperty(name = "querydsl.datasource.replica.enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public DataSource replicaDataSource(DataSourceProperties properties,
+                                        @Value("${querydsl.datasource.replica.url}") String url,
+                                        @Value("${querydsl.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                        @Value("${querydsl.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(@Value("${querydsl.datasource.replica.lag-tolerance:1s}") Duration lagTolerance) {
+        return new ReplicaLagGuard(lagTolerance);
+    }
+
+    @Bean
+    @Primary
+    public DataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                        ReplicaLagGuard replicaLagGuard) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagGuard));
+    }
+}
@@ -0,0 +1,34 @@
+package com.give928.querydsl.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션은 replica, 그 외에는 primary 로 보낸다.
+ * 트랜잭션 시작 시점에는 읽기 전용 여부가 아직 설정되지 않으므로 LazyConnectionDataSourceProxy 로 감싸서
+ * 첫 SQL 실행 시점에 커넥션을 고르도록 해야 한다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReplicaLagGuard replicaLagGuard;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard replicaLagGuard) {
+        this.replicaLagGuard = replicaLagGuard;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !replicaLagGuard.isReplicaBehind()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
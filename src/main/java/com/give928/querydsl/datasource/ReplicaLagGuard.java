@@ -0,0 +1,46 @@
+package com.give928.querydsl.datasource;
+
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 레플리카 복제 지연 허용 범위
+ * 마지막 쓰기가 커밋된 뒤 lag-tolerance 가 지나지 않았으면 레플리카에 아직 반영되지 않았을 수 있으므로 읽기도 primary 로 보낸다.
+ */
+public class ReplicaLagGuard {
+    private final long toleranceNanos;
+    private volatile long lastWriteNanos;
+    private final TransactionSynchronization markWrittenAfterCommit = new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+            markWritten();
+        }
+    };
+
+    public ReplicaLagGuard(Duration lagTolerance) {
+        this.toleranceNanos = lagTolerance.toNanos();
+        this.lastWriteNanos = System.nanoTime() - toleranceNanos;
+    }
+
+    public void markWritten() {
+        lastWriteNanos = System.nanoTime();
+    }
+
+    public boolean isReplicaBehind() {
+        return System.nanoTime() - lastWriteNanos < toleranceNanos;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markWritten();
+            return;
+        }
+        // 같은 인스턴스는 트랜잭션당 한 번만 등록된다.
+        TransactionSynchronizationManager.registerSynchronization(markWrittenAfterCommit);
+    }
+}
@@ -0,0 +1,17 @@
+package com.give928.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class CacheStatisticsDto {
+    private final String region;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long elementCount;
+    private final long naturalIdHitCount;
+    private final long naturalIdMissCount;
+    private final long naturalIdPutCount;
+}
@@ -0,0 +1,125 @@
+package com.give928.querydsl.dto;
+
+import com.give928.querydsl.util.LongIntHashMap;
+
+import java.util.Arrays;
+
+/**
+ * 회원 컬럼형 조회 결과 (행마다 객체를 만들지 않는 분석용 결과)
+ * i 번째 회원은 ids[i], ages[i], teamCodes[i] 이고, teamCodes 는 teamIds 사전의 인덱스(팀이 없으면 -1)이다.
+ */
+public class MemberColumns {
+    public static final int NO_TEAM = -1;
+
+    private final int size;
+    private final long[] ids;
+    private final int[] ages;
+    private final int[] teamCodes;
+    private final long[] teamIds;
+
+    public MemberColumns(int size, long[] ids, int[] ages, int[] teamCodes, long[] teamIds) {
+        this.size = size;
+        this.ids = ids;
+        this.ages = ages;
+        this.teamCodes = teamCodes;
+        this.teamIds = teamIds;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] getIds() {
+        return ids;
+    }
+
+    public int[] getAges() {
+        return ages;
+    }
+
+    public int[] getTeamCodes() {
+        return teamCodes;
+    }
+
+    public long[] getTeamIds() {
+        return teamIds;
+    }
+
+    /**
+     * 팀 사전 인덱스별 나이 합계 (집계 예시, 배열 두 개만 할당한다)
+     */
+    public long[] ageSumByTeamCode() {
+        long[] sums = new long[teamIds.length];
+        for (int i = 0; i < size; i++) {
+            if (teamCodes[i] != NO_TEAM) {
+                sums[teamCodes[i]] += ages[i];
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * JDBC 결과를 primitive 배열에 바로 채우는 버퍼, 부족하면 두 배로 늘린다.
+     */
+    public static class Builder {
+        private int size;
+        private long[] ids;
+        private int[] ages;
+        private int[] teamCodes;
+        private final TeamDictionary teams = new TeamDictionary();
+
+        public Builder(int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 16);
+            this.ids = new long[capacity];
+            this.ages = new int[capacity];
+            this.teamCodes = new int[capacity];
+        }
+
+        /**
+         * @param teamId 팀이 없으면 wasNullTeam 을 true 로 전달한다. (박싱하지 않기 위함)
+         */
+        public void add(long id, int age, long teamId, boolean wasNullTeam) {
+            if (size == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                teamCodes = Arrays.copyOf(teamCodes, capacity);
+            }
+            ids[size] = id;
+            ages[size] = age;
+            teamCodes[size] = wasNullTeam ? NO_TEAM : teams.code(teamId);
+            size++;
+        }
+
+        public MemberColumns build() {
+            return new MemberColumns(size, Arrays.copyOf(ids, size), Arrays.copyOf(ages, size),
+                                     Arrays.copyOf(teamCodes, size), teams.toArray());
+        }
+    }
+
+    /**
+     * 팀 id -> 사전 인덱스 (행마다 Long 을 만들지 않기 위함)
+     */
+    private static class TeamDictionary {
+        private final LongIntHashMap codes = new LongIntHashMap(16);
+        private long[] teamIds = new long[16];
+        private int size;
+
+        private int code(long teamId) {
+            int code = codes.get(teamId);
+            if (code != LongIntHashMap.MISSING) {
+                return code;
+            }
+            if (size == teamIds.length) {
+                teamIds = Arrays.copyOf(teamIds, size * 2);
+            }
+            teamIds[size] = teamId;
+            codes.put(teamId, size);
+            return size++;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(teamIds, size);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.give928.querydsl.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 압축 페이징 응답 (format=compact 또는 Accept: application/vnd.give928.member-compact+json, application/cbor)
+ * 페이지에 나온 팀을 teamIds/teamNames 사전으로 한 번만 보내고, 회원은 컬럼별 배열로 보낸다.
+ * teams[i] 는 사전의 인덱스이고 팀이 없으면 -1 이다.
+ */
+@Getter
+public class MemberCompactPage {
+    public static final String MEDIA_TYPE = "application/vnd.give928.member-compact+json";
+    public static final int NO_TEAM = -1;
+
+    private final long[] teamIds;
+    private final String[] teamNames;
+    private final long[] memberIds;
+    private final String[] usernames;
+    private final int[] ages;
+    private final int[] teams;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+    private final int totalPages;
+
+    private MemberCompactPage(long[] teamIds, String[] teamNames, long[] memberIds, String[] usernames, int[] ages,
+                              int[] teams, int page, int size, long totalElements, int totalPages) {
+        this.teamIds = teamIds;
+        this.teamNames = teamNames;
+        this.memberIds = memberIds;
+        this.usernames = usernames;
+        this.ages = ages;
+        this.teams = teams;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+
+    public static MemberCompactPage of(Page<MemberTeamDto> page) {
+        List<MemberTeamDto> content = page.getContent();
+        int count = content.size();
+        long[] memberIds = new long[count];
+        String[] usernames = new String[count];
+        int[] ages = new int[count];
+        int[] teams = new int[count];
+
+        Map<Long, Integer> dictionary = new HashMap<>();
+        List<MemberTeamDto> teamRows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MemberTeamDto dto = content.get(i);
+            memberIds[i] = dto.getMemberId();
+            usernames[i] = dto.getUsername();
+            ages[i] = dto.getAge();
+            if (dto.getTeamId() == null) {
+                teams[i] = NO_TEAM;
+                continue;
+            }
+            teams[i] = dictionary.computeIfAbsent(dto.getTeamId(), teamId -> {
+                teamRows.add(dto);
+                return teamRows.size() - 1;
+            });
+        }
+
+        long[] teamIds = new long[teamRows.size()];
+        String[] teamNames = new String[teamRows.size()];
+        for (int i = 0; i < teamRows.size(); i++) {
+            teamIds[i] = teamRows.get(i).getTeamId();
+            teamNames[i] = teamRows.get(i).getTeamName();
+        }
+        return new MemberCompactPage(teamIds, teamNames, memberIds, usernames, ages, teams,
+                                     page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+    }
+}
@@ -0,0 +1,52 @@
+package com.give928.querydsl.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 커서 페이징 응답
+ * nextCursor 는 마지막 member_id 를 인코딩한 불투명한 값으로, 다음 요청의 cursor 로 그대로 전달한다.
+ * size 는 1 ~ MAX_SIZE 사이여야 한다.
+ */
+@Getter
+public class MemberCursorPage {
+    public static final int MAX_SIZE = 1000;
+
+    private final List<MemberTeamDto> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    private MemberCursorPage(List<MemberTeamDto> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public static MemberCursorPage of(Slice<MemberTeamDto> slice) {
+        List<MemberTeamDto> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? encodeCursor(content.get(content.size() - 1).getMemberId()) : null;
+        return new MemberCursorPage(content, nextCursor, slice.hasNext());
+    }
+
+    public static String encodeCursor(Long memberId) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(String.valueOf(memberId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decodeCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -2,14 +2,66 @@ package com.give928.querydsl.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.ToString;
+import org.springframework.util.StringUtils;
 
 @AllArgsConstructor
 @Builder
 @Getter
+@EqualsAndHashCode
+@ToString
 public class MemberSearchCondition {
+    public static final int USERNAME = 1;
+    public static final int TEAM_NAME = 1 << 1;
+    public static final int AGE_GOE = 1 << 2;
+    public static final int AGE_LOE = 1 << 3;
+    public static final int SHAPE_COUNT = 1 << 4;
+
     private String username;
     private String teamName;
     private Integer ageGoe;
     private Integer ageLoe;
+    private UsernameMatch usernameMatch;
+
+    /**
+     * 캐시 키 등으로 사용할 수 있도록 조회 결과에 영향이 없는 차이(빈 문자열)를 제거한 조건
+     */
+    public MemberSearchCondition normalized() {
+        return MemberSearchCondition.builder()
+                .username(StringUtils.hasText(username) ? username : null)
+                .teamName(StringUtils.hasText(teamName) ? teamName : null)
+                .ageGoe(ageGoe)
+                .ageLoe(ageLoe)
+                .usernameMatch(isExactUsername() ? null : usernameMatch)
+                .build();
+    }
+
+    /**
+     * username 을 일치 조건으로 검색하는지 여부 (username 이 없거나 usernameMatch 가 없으면 일치로 본다)
+     */
+    public boolean isExactUsername() {
+        return !StringUtils.hasText(username) || usernameMatch == null || usernameMatch == UsernameMatch.EXACT;
+    }
+
+    /**
+     * 설정된 조건의 조합(쿼리 모양)을 비트마스크로 반환한다.
+     */
+    public int shape() {
+        int shape = 0;
+        if (StringUtils.hasText(username)) {
+            shape |= USERNAME;
+        }
+        if (StringUtils.hasText(teamName)) {
+            shape |= TEAM_NAME;
+        }
+        if (ageGoe != null) {
+            shape |= AGE_GOE;
+        }
+        if (ageLoe != null) {
+            shape |= AGE_LOE;
+        }
+        return shape;
+    }
 }
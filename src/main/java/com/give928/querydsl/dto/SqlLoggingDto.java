@@ -0,0 +1,17 @@
+package com.give928.querydsl.dto;
+
+import com.give928.querydsl.monitoring.SampledSqlLogger;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class SqlLoggingDto {
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long dropped;
+
+    public static SqlLoggingDto of(SampledSqlLogger sampledSqlLogger) {
+        return new SqlLoggingDto(sampledSqlLogger.isEnabled(), sampledSqlLogger.getSampleRate(), sampledSqlLogger.getDropped());
+    }
+}
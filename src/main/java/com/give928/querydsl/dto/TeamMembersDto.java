@@ -0,0 +1,23 @@
+package com.give928.querydsl.dto;
+
+import com.give928.querydsl.entity.Team;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@AllArgsConstructor
+@Getter
+public class TeamMembersDto {
+    private final Long teamId;
+    private final String teamName;
+    private final List<MemberDto> members;
+
+    public static TeamMembersDto of(Team team) {
+        List<MemberDto> members = team.getMembers().stream()
+                .map(member -> new MemberDto(member.getUsername(), member.getAge()))
+                .collect(Collectors.toList());
+        return new TeamMembersDto(team.getId(), team.getName(), members);
+    }
+}
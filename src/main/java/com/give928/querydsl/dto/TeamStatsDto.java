@@ -0,0 +1,18 @@
+package com.give928.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@ToString
+public class TeamStatsDto {
+    private final Long teamId;
+    private final String teamName;
+    private final long count;
+    private final long ageSum;
+    private final double ageAvg;
+    private final int ageMin;
+    private final int ageMax;
+}
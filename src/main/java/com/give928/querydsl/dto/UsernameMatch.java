@@ -0,0 +1,11 @@
+package com.give928.querydsl.dto;
+
+/**
+ * username 검색 방식
+ * - EXACT: 일치 (기본값)
+ * - PREFIX: 시작 문자열, username 인덱스 범위 조회 (username >= prefix and username < 다음 prefix)
+ * - CONTAINS: 포함 문자열, 트라이그램 인덱스로 후보를 좁힌 뒤 like 로 확인
+ */
+public enum UsernameMatch {
+    EXACT, PREFIX, CONTAINS
+}
@@ -5,12 +5,19 @@ import lombok.*;
 import javax.persistence.*;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"),
+        @Index(name = "idx_member_team_id_age", columnList = "team_id, age"),
+        @Index(name = "idx_member_age", columnList = "age")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @ToString(of = {"id", "username", "age"})
 public class Member {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY 는 하이버네이트 insert 배치를 사용할 수 없으므로 pooled 시퀀스를 사용한다.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "member_id")
     private Long id;
 
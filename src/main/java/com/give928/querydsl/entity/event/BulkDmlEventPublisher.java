@@ -0,0 +1,69 @@
+package com.give928.querydsl.entity.event;
+
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 벌크 연산(JPQL/Querydsl update, delete, 네이티브 SQL)은 하이버네이트 엔티티 이벤트가 발생하지 않으므로
+ * p6spy 로 executeUpdate 를 보고 EntityChangedEvent.bulk 를 발행한다.
+ * 엔티티 flush 는 JDBC 배치(executeBatch)로 실행되고 EntityChangeEventPublisher 가 이미 발행하므로 보지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkDmlEventPublisher extends SimpleJdbcEventListener {
+    private static final Pattern DML = Pattern.compile("^(?:insert\\s+into|update|delete\\s+from|delete|merge\\s+into)\\s+(\\w+)",
+                                                       Pattern.CASE_INSENSITIVE);
+    private static final Map<String, Class<?>> ENTITY_TYPES = Map.of("member", Member.class,
+                                                                     "team", Team.class);
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void onAfterExecuteUpdate(PreparedStatementInformation statementInformation, long timeElapsedNanos,
+                                     int rowCount, SQLException e) {
+        publish(statementInformation.getSql(), e);
+    }
+
+    @Override
+    public void onAfterExecuteUpdate(StatementInformation statementInformation, long timeElapsedNanos,
+                                     String sql, int rowCount, SQLException e) {
+        publish(sql, e);
+    }
+
+    private void publish(String sql, SQLException e) {
+        if (e != null || sql == null) {
+            return;
+        }
+        Matcher matcher = DML.matcher(withoutLeadingComment(sql));
+        if (!matcher.find()) {
+            return;
+        }
+        Class<?> entityType = ENTITY_TYPES.get(matcher.group(1).toLowerCase(Locale.ROOT));
+        if (entityType != null) {
+            applicationEventPublisher.publishEvent(EntityChangedEvent.bulk(entityType));
+        }
+    }
+
+    private String withoutLeadingComment(String sql) {
+        String statement = sql.stripLeading();
+        if (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            if (end >= 0) {
+                return statement.substring(end + 2).stripLeading();
+            }
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,75 @@
+package com.give928.querydsl.entity.event;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 하이버네이트 post-insert/update/delete 이벤트를 스프링 EntityChangedEvent 로 발행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityChangeEventPublisher implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostConstruct
+    public void register() {
+        SessionFactoryImpl sessionFactory = entityManagerFactory.unwrap(SessionFactoryImpl.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(EntityChangedEvent.Type.INSERT, event.getId(), event.getPersister(),
+                event.getState(), null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(EntityChangedEvent.Type.UPDATE, event.getId(), event.getPersister(),
+                event.getState(), event.getOldState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(EntityChangedEvent.Type.DELETE, event.getId(), event.getPersister(),
+                null, event.getDeletedState());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void publish(EntityChangedEvent.Type type, Object id, EntityPersister persister,
+                         Object[] state, Object[] previousState) {
+        String[] propertyNames = persister.getPropertyNames();
+        applicationEventPublisher.publishEvent(new EntityChangedEvent(type, persister.getMappedClass(), id,
+                                                                      toMap(propertyNames, state),
+                                                                      toMap(propertyNames, previousState)));
+    }
+
+    private Map<String, Object> toMap(String[] propertyNames, Object[] values) {
+        if (values == null) {
+            return null;
+        }
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            map.put(propertyNames[i], values[i]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,43 @@
+package com.give928.querydsl.entity.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Member, Team 등 엔티티 변경 이벤트
+ * 하이버네이트 flush 시점(커밋 전)에 발행되므로, 커밋된 데이터만 반영해야 하는 곳은 @TransactionalEventListener 로 받는다.
+ * state 는 변경 후, previousState 는 변경 전 프로퍼티 값이며 bulk 연산은 둘 다 비어 있다.
+ */
+@Getter
+@ToString(of = {"type", "entityType", "id"})
+public class EntityChangedEvent {
+    public enum Type {
+        INSERT, UPDATE, DELETE, BULK
+    }
+
+    private final Type type;
+    private final Class<?> entityType;
+    private final Object id;
+    private final Map<String, Object> state;
+    private final Map<String, Object> previousState;
+
+    public EntityChangedEvent(Type type, Class<?> entityType, Object id,
+                              Map<String, Object> state, Map<String, Object> previousState) {
+        this.type = type;
+        this.entityType = entityType;
+        this.id = id;
+        this.state = state != null ? state : Collections.emptyMap();
+        this.previousState = previousState != null ? previousState : Collections.emptyMap();
+    }
+
+    public static EntityChangedEvent bulk(Class<?> entityType) {
+        return new EntityChangedEvent(Type.BULK, entityType, null, null, null);
+    }
+
+    public boolean isAbout(Class<?> type) {
+        return type.isAssignableFrom(entityType);
+    }
+}
@@ -0,0 +1,29 @@
+package com.give928.querydsl.monitoring;
+
+/**
+ * 현재 스레드에서 실행 중인 리포지토리 메서드 (SQL 로그 등에서 호출한 메서드를 남기기 위해 사용)
+ */
+public final class RepositoryInvocation {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RepositoryInvocation() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void exit(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.give928.querydsl.monitoring;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 리포지토리 public 메서드의 실행 시간과 결과 건수를 메서드, 조건 모양(설정된 조건)별로 기록한다.
+ * /actuator/prometheus 에서 member_repository_latency_seconds_bucket, member_repository_rows 로 조회한다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+    private static final String[] SHAPE_NAMES = {"username", "teamName", "ageGoe", "ageLoe"};
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("(bean(memberRepository) && (execution(* com.give928.querydsl.repository.MemberRepositoryCustom.*(..))"
+            + " || execution(* com.give928.querydsl.repository.MemberRepositoryQuerydslSupport.*(..))))"
+            + " || execution(public * com.give928.querydsl.repository.MemberJpaRepository.*(..))"
+            + " || execution(public * com.give928.querydsl.repository.MemberSupportRepository.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        String shape = shape(joinPoint.getArgs());
+        String previousMethod = RepositoryInvocation.enter(method);
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            Long rows = rows(result);
+            if (rows != null) {
+                DistributionSummary.builder("member.repository.rows")
+                        .tags(Tags.of("method", method, "shape", shape))
+                        .register(meterRegistry)
+                        .record(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder("member.repository.latency")
+                    .tags(Tags.of("method", method, "shape", shape, "exception", exception))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            RepositoryInvocation.exit(previousMethod);
+        }
+    }
+
+    static String shape(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof MemberSearchCondition) {
+                return shapeName(((MemberSearchCondition) arg).shape());
+            }
+        }
+        return "n/a";
+    }
+
+    static String shapeName(int shape) {
+        if (shape == 0) {
+            return "none";
+        }
+        StringJoiner joiner = new StringJoiner("+");
+        for (int i = 0; i < SHAPE_NAMES.length; i++) {
+            if ((shape & (1 << i)) != 0) {
+                joiner.add(SHAPE_NAMES[i]);
+            }
+        }
+        return joiner.toString();
+    }
+
+    private Long rows(Object result) {
+        if (result instanceof Collection) {
+            return (long) ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return (long) ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1L : 0L;
+        }
+        if (result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.give928.querydsl.monitoring;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 운영용 SQL 로그
+ * 실행된 SQL 중 sample-rate 비율만 골라서, 포맷팅 없이 한 줄로 bounded 큐에 넣고 별도 스레드에서 로그를 남긴다.
+ * 큐가 가득 차면 요청 스레드를 막지 않고 버린다. enabled, sample-rate 는 /actuator/sqllogging 으로 실행 중에 바꿀 수 있다. (SqlLoggingEndpoint)
+ */
+@Slf4j
+@Component
+public class SampledSqlLogger extends SimpleJdbcEventListener {
+    private volatile boolean enabled;
+    private volatile double sampleRate;
+    private final BlockingQueue<String> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+
+    public SampledSqlLogger(@Value("${querydsl.sql-logging.enabled:false}") boolean enabled,
+                            @Value("${querydsl.sql-logging.sample-rate:0.01}") double sampleRate,
+                            @Value("${querydsl.sql-logging.queue-capacity:10000}") int queueCapacity) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::write, "sampled-sql-logger");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (!enabled || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        String line = TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos) + "ms | "
+                + statementInformation.getSqlWithValues().replace('\n', ' ');
+        if (!queue.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        // NaN 은 비교가 모두 false 이므로 범위 안에 있는지로 확인한다.
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.interrupt();
+    }
+
+    private void write() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                log.info(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.give928.querydsl.monitoring;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+public class SlowQuery {
+    private final Instant executedAt;
+    private final long elapsedMillis;
+    private final String sql;
+    private final String sqlWithValues;
+    private final String repositoryMethod;
+    private volatile String plan;
+
+    public SlowQuery(Instant executedAt, long elapsedMillis, String sql, String sqlWithValues, String repositoryMethod) {
+        this.executedAt = executedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.sql = sql;
+        this.sqlWithValues = sqlWithValues;
+        this.repositoryMethod = repositoryMethod;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,31 @@
+package com.give928.querydsl.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 최근 느린 쿼리 조회/비우기 (/actuator/slowqueries)
+ * 바인딩 값이 들어간 SQL 과 실행 계획을 반환하므로 기본으로 웹에 노출하지 않는다.
+ * 필요하면 내부망에만 열린 관리 포트(management.server.port)에서 management.endpoints.web.exposure.include 에 추가한다.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return slowQueryLog.findAll();
+    }
+
+    @DeleteOperation
+    public void clearSlowQueries() {
+        slowQueryLog.clear();
+    }
+}
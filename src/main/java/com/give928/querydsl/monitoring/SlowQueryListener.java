@@ -0,0 +1,113 @@
+package com.give928.querydsl.monitoring;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * p6spy 이벤트로 threshold 보다 오래 걸린 SQL 을 SlowQueryLog 에 기록한다.
+ * select 는 별도 스레드, 별도 커넥션에서 H2 EXPLAIN ANALYZE 를 실행해서 실행 계획을 함께 남긴다.
+ * EXPLAIN 작업 큐가 가득 차면 실행 계획 없이 기록만 남긴다.
+ */
+@Component
+public class SlowQueryListener extends SimpleJdbcEventListener {
+    private static final ThreadLocal<Boolean> EXPLAINING = ThreadLocal.withInitial(() -> false);
+
+    private final long thresholdNanos;
+    private final boolean explain;
+    private final SlowQueryLog slowQueryLog;
+    private final ObjectProvider<DataSource> dataSourceProvider;
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryListener(@Value("${querydsl.slow-query.threshold:100ms}") Duration threshold,
+                             @Value("${querydsl.slow-query.explain:true}") boolean explain,
+                             SlowQueryLog slowQueryLog,
+                             ObjectProvider<DataSource> dataSourceProvider) {
+        this.thresholdNanos = threshold.toNanos();
+        this.explain = explain;
+        this.slowQueryLog = slowQueryLog;
+        this.dataSourceProvider = dataSourceProvider;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("slow-query-explain-");
+        threadFactory.setDaemon(true);
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                                                      new ArrayBlockingQueue<>(16), threadFactory,
+                                                      new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (timeElapsedNanos < thresholdNanos || EXPLAINING.get()) {
+            return;
+        }
+        String sqlWithValues = withoutLeadingComment(statementInformation.getSqlWithValues());
+        SlowQuery slowQuery = new SlowQuery(Instant.now(),
+                                            TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos),
+                                            statementInformation.getSql(),
+                                            sqlWithValues,
+                                            RepositoryInvocation.current());
+        slowQueryLog.add(slowQuery);
+        if (explain && isSelect(sqlWithValues)) {
+            explainExecutor.execute(() -> slowQuery.setPlan(explainAnalyze(sqlWithValues)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private boolean isSelect(String sql) {
+        return sql != null && sql.toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    /**
+     * use_sql_comments 로 붙은 JPQL 주석 제거
+     */
+    private String withoutLeadingComment(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String statement = sql.stripLeading();
+        if (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            if (end >= 0) {
+                return statement.substring(end + 2).stripLeading();
+            }
+        }
+        return statement;
+    }
+
+    private String explainAnalyze(String sql) {
+        EXPLAINING.set(true);
+        try (Connection connection = dataSourceProvider.getObject().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("explain analyze " + sql)) {
+            StringJoiner plan = new StringJoiner("\n");
+            while (resultSet.next()) {
+                plan.add(resultSet.getString(1));
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        } finally {
+            EXPLAINING.remove();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.give928.querydsl.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 최근 느린 쿼리를 capacity 건까지 보관하는 링 버퍼, 가득 차면 가장 오래된 항목을 버린다.
+ */
+@Component
+public class SlowQueryLog {
+    private final int capacity;
+    private final Deque<SlowQuery> queries;
+
+    public SlowQueryLog(@Value("${querydsl.slow-query.capacity:100}") int capacity) {
+        this.capacity = capacity;
+        this.queries = new ArrayDeque<>(capacity);
+    }
+
+    public synchronized void add(SlowQuery slowQuery) {
+        if (queries.size() == capacity) {
+            queries.removeFirst();
+        }
+        queries.addLast(slowQuery);
+    }
+
+    /**
+     * 최신 순
+     */
+    public synchronized List<SlowQuery> findAll() {
+        List<SlowQuery> result = new ArrayList<>(queries);
+        Collections.reverse(result);
+        return result;
+    }
+
+    public synchronized void clear() {
+        queries.clear();
+    }
+}
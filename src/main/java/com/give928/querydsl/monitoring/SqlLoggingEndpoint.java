@@ -0,0 +1,42 @@
+package com.give928.querydsl.monitoring;
+
+import com.give928.querydsl.dto.SqlLoggingDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * SampledSqlLogger 설정 조회/변경 (/actuator/sqllogging)
+ * 모든 SQL 을 바인딩 값과 함께 남기도록 바꿀 수 있으므로 loggers 와 같이 기본으로 웹에 노출하지 않는다.
+ * 필요하면 내부망에만 열린 관리 포트(management.server.port)에서 management.endpoints.web.exposure.include 에 추가한다.
+ */
+@Component
+@Endpoint(id = "sqllogging")
+@RequiredArgsConstructor
+public class SqlLoggingEndpoint {
+    private final SampledSqlLogger sampledSqlLogger;
+
+    @ReadOperation
+    public SqlLoggingDto sqlLogging() {
+        return SqlLoggingDto.of(sampledSqlLogger);
+    }
+
+    @WriteOperation
+    public SqlLoggingDto updateSqlLogging(@Nullable Boolean enabled, @Nullable Double sampleRate) {
+        if (sampleRate != null) {
+            try {
+                sampledSqlLogger.setSampleRate(sampleRate);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+            }
+        }
+        if (enabled != null) {
+            sampledSqlLogger.setEnabled(enabled);
+        }
+        return SqlLoggingDto.of(sampledSqlLogger);
+    }
+}
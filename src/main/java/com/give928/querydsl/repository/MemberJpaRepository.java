@@ -1,19 +1,45 @@
 package com.give928.querydsl.repository;
 
+import com.give928.querydsl.dto.MemberColumns;
 import com.give928.querydsl.dto.MemberSearchCondition;
 import com.give928.querydsl.dto.MemberTeamDto;
 import com.give928.querydsl.dto.QMemberTeamDto;
+import com.give928.querydsl.dto.UsernameMatch;
 import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.repository.support.BulkProgress;
+import com.give928.querydsl.repository.support.MemberSearchResultCache;
+import com.give928.querydsl.repository.support.TeamNameFilter;
+import com.give928.querydsl.repository.support.TeamNameFilterResolver;
+import com.give928.querydsl.repository.support.UsernameFilterResolver;
+import com.give928.querydsl.repository.support.TransactionSupport;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static com.give928.querydsl.entity.QMember.member;
 import static com.give928.querydsl.entity.QTeam.team;
@@ -23,11 +49,43 @@ import static com.give928.querydsl.entity.QTeam.team;
 public class MemberJpaRepository {
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final TeamNameFilterResolver teamNameFilterResolver;
+    private final UsernameFilterResolver usernameFilterResolver;
+    private final PlatformTransactionManager transactionManager;
+    private final MemberSearchResultCache memberSearchResultCache;
+
+    @Value("${querydsl.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Value("${querydsl.export.fetch-size:1000}")
+    private int exportFetchSize;
 
     public void save(Member member) {
         em.persist(member);
     }
 
+    /**
+     * 대량 저장
+     * chunk-size 건마다 flush(JDBC insert 배치)하고 영속성 컨텍스트를 비워서 메모리 사용량을 일정하게 유지한다.
+     * 팀 컬렉션에 회원이 계속 쌓이지 않도록 회원의 팀은 changeTeam 대신 setTeam 으로 지정한다.
+     * 저장이 끝나면 영속성 컨텍스트가 비워지므로 기존에 조회한 엔티티는 준영속 상태가 된다.
+     */
+    @Transactional
+    public long saveAll(Stream<Member> members) {
+        long count = 0;
+        Iterator<Member> iterator = members.iterator();
+        while (iterator.hasNext()) {
+            em.persist(iterator.next());
+            if (++count % bulkChunkSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+
     public Optional<Member> findById(Long id) {
         Member findMember = em.find(Member.class, id);
         return Optional.ofNullable(findMember);
@@ -56,13 +114,14 @@ public class MemberJpaRepository {
                 .fetch();
     }
 
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
         BooleanBuilder builder = new BooleanBuilder();
         if (StringUtils.hasText(condition.getUsername())) {
-            builder.and(member.username.eq(condition.getUsername()));
+            builder.and(usernameMatches(condition));
         }
         if (StringUtils.hasText(condition.getTeamName())) {
-            builder.and(team.name.eq(condition.getTeamName()));
+            builder.and(teamNameEq(condition.getTeamName()));
         }
         if (condition.getAgeGoe() != null) {
             builder.and(member.age.goe(condition.getAgeGoe()));
@@ -86,17 +145,22 @@ public class MemberJpaRepository {
 
     //where 파라미터 방식은 이런식으로 재사용이 가능하다.
     public List<Member> findMember(MemberSearchCondition condition) {
-        return queryFactory
-                .selectFrom(member)
-                .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                       teamNameEq(condition.getTeamName()),
+        TeamNameFilter teamNameFilter = teamNameFilterResolver.resolve(condition.getTeamName());
+        JPAQuery<Member> query = queryFactory
+                .selectFrom(member);
+        if (teamNameFilter.isJoinRequired()) {
+            query.leftJoin(member.team, team);
+        }
+        return query
+                .where(usernameMatches(condition),
+                       teamNameFilter.getPredicate(),
                        ageBetween(condition.getAgeGoe(), condition.getAgeLoe()))
                 .fetch();
     }
 
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
+        return memberSearchResultCache.get("MemberJpaRepository.search", condition, () -> queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -105,19 +169,193 @@ public class MemberJpaRepository {
                         team.name))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
+                .where(usernameMatches(condition),
                        teamNameEq(condition.getTeamName()),
                        ageGoe(condition.getAgeGoe()),
                        ageLoe(condition.getAgeLoe()))
-                .fetch();
+                .fetch());
+    }
+
+    /**
+     * 대용량 내보내기
+     * 결과를 List 로 모으지 않고 커서(JDBC fetch size 단위)로 읽으면서 한 건씩 consumer 에 넘긴다.
+     * DTO 프로젝션이라 영속성 컨텍스트에 엔티티가 쌓이지 않으므로 조회 건수와 상관없이 메모리 사용량이 일정하다.
+     */
+    @Transactional(readOnly = true)
+    public long export(MemberSearchCondition condition, Consumer<MemberTeamDto> consumer) {
+        long count = 0;
+        try (Stream<MemberTeamDto> stream = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(usernameMatches(condition),
+                       teamNameEq(condition.getTeamName()),
+                       ageGoe(condition.getAgeGoe()),
+                       ageLoe(condition.getAgeLoe()))
+                .orderBy(member.id.asc())
+                .setHint(QueryHints.FETCH_SIZE, exportFetchSize)
+                .setHint(QueryHints.READ_ONLY, true)
+                .stream()) {
+            Iterator<MemberTeamDto> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 분석용 컬럼형 조회 (member_id, age, team_id)
+     * JPQL/Querydsl 결과는 행마다 DTO/Tuple 과 박싱된 Long/Integer 를 만들기 때문에,
+     * 같은 조건을 SQL 로 실행해서 ResultSet 값을 primitive 배열에 바로 채운다. team_id 는 팀 사전 인덱스로 바꾼다.
+     * JDBC 로 직접 조회하므로 현재 트랜잭션에 flush 되지 않은 변경이 있으면 먼저 flush 한다.
+     */
+    @Transactional(readOnly = true)
+    public MemberColumns findColumns(MemberSearchCondition condition) {
+        StringBuilder sql = new StringBuilder("select member_id, age, team_id from member where 1 = 1");
+        List<Object> parameters = new ArrayList<>();
+        if (StringUtils.hasText(condition.getUsername())) {
+            appendUsername(sql, parameters, condition);
+        }
+        if (StringUtils.hasText(condition.getTeamName())) {
+            sql.append(" and team_id = (select team_id from team where name = ?)");
+            parameters.add(condition.getTeamName());
+        }
+        if (condition.getAgeGoe() != null) {
+            sql.append(" and age >= ?");
+            parameters.add(condition.getAgeGoe());
+        }
+        if (condition.getAgeLoe() != null) {
+            sql.append(" and age <= ?");
+            parameters.add(condition.getAgeLoe());
+        }
+        sql.append(" order by member_id");
+
+        if (!TransactionSupport.isReadOnlyOrNone()) {
+            em.flush();
+        }
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                statement.setFetchSize(exportFetchSize);
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    MemberColumns.Builder columns = new MemberColumns.Builder(exportFetchSize);
+                    while (resultSet.next()) {
+                        long teamId = resultSet.getLong(3);
+                        columns.add(resultSet.getLong(1), resultSet.getInt(2), teamId, resultSet.wasNull());
+                    }
+                    return columns.build();
+                }
+            }
+        });
+    }
+
+    private void appendUsername(StringBuilder sql, List<Object> parameters, MemberSearchCondition condition) {
+        String username = condition.getUsername();
+        if (condition.isExactUsername()) {
+            sql.append(" and username = ?");
+            parameters.add(username);
+        } else if (condition.getUsernameMatch() == UsernameMatch.PREFIX
+                && UsernameFilterResolver.prefixUpperBound(username) != null) {
+            sql.append(" and username >= ? and username < ?");
+            parameters.add(username);
+            parameters.add(UsernameFilterResolver.prefixUpperBound(username));
+        } else {
+            boolean prefix = condition.getUsernameMatch() == UsernameMatch.PREFIX;
+            String escaped = username.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+            sql.append(" and username like ? escape '!'");
+            parameters.add(prefix ? escaped + "%" : "%" + escaped + "%");
+        }
+    }
+
+    /**
+     * 청크 단위 벌크 수정, age 가 ageLt 미만인 회원의 나이에 amount 를 더한다.
+     */
+    public long bulkAddAge(int ageLt, int amount, Consumer<BulkProgress> progress) {
+        return bulkByIdRange(member.age.lt(ageLt), progress, idRange -> queryFactory
+                .update(member)
+                .set(member.age, member.age.add(amount))
+                .where(member.age.lt(ageLt), idRange)
+                .execute());
+    }
+
+    /**
+     * 청크 단위 벌크 삭제, teamId 팀의 회원을 삭제한다.
+     */
+    public long bulkDeleteByTeamId(Long teamId, Consumer<BulkProgress> progress) {
+        return bulkByIdRange(member.team.id.eq(teamId), progress, idRange -> queryFactory
+                .delete(member)
+                .where(member.team.id.eq(teamId), idRange)
+                .execute());
+    }
+
+    /**
+     * 대상 회원의 id 범위를 chunk-size 씩 나눠서 청크마다 별도 트랜잭션(REQUIRES_NEW)으로 실행한다.
+     * 한 번에 잠그는 행과 트랜잭션 길이를 청크 크기로 제한해서 온라인 요청이 오래 기다리지 않도록 하기 위함이다.
+     * 청크가 커밋될 때마다 progress 로 진행 상황을 알리고, 호출한 쪽 영속성 컨텍스트의 해당 범위 회원을 준영속으로 만들어
+     * 다음 조회 때 변경된 값을 다시 읽도록 한다. (2차 캐시는 하이버네이트 벌크 연산이 해당 영역을 비운다)
+     * 청크마다 커밋되므로 중간에 실패하면 이전 청크까지는 반영된 상태로 남는다.
+     * 호출한 쪽 트랜잭션이 flush 한 회원 변경이 있으면 청크 트랜잭션이 잠금을 기다리므로 쓰기 트랜잭션 밖에서 호출한다.
+     */
+    private long bulkByIdRange(BooleanExpression target, Consumer<BulkProgress> progress,
+                               Function<BooleanExpression, Long> chunk) {
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Tuple idRange = chunkTransaction.execute(status -> queryFactory
+                .select(member.id.min(), member.id.max())
+                .from(member)
+                .where(target)
+                .fetchOne());
+        if (idRange == null || idRange.get(member.id.min()) == null) {
+            return 0;
+        }
+        long firstId = idRange.get(member.id.min());
+        long lastId = idRange.get(member.id.max());
+
+        long affectedRows = 0;
+        int chunks = 0;
+        for (long from = firstId; from <= lastId; from += bulkChunkSize) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(from + bulkChunkSize - 1, lastId);
+            Long rows = chunkTransaction.execute(status -> chunk.apply(member.id.between(chunkFrom, chunkTo)));
+            affectedRows += rows != null ? rows : 0;
+            detachMembers(chunkFrom, chunkTo);
+            progress.accept(new BulkProgress(++chunks, chunkTo, lastId, affectedRows));
+        }
+        return affectedRows;
+    }
+
+    private void detachMembers(long fromId, long toId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        List<Object> entities = new ArrayList<>(session.getPersistenceContextInternal().getEntitiesByKey().values());
+        for (Object entity : entities) {
+            if (entity instanceof Member) {
+                Long id = ((Member) entity).getId();
+                if (id != null && id >= fromId && id <= toId) {
+                    em.detach(entity);
+                }
+            }
+        }
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return StringUtils.hasText(username) ? member.username.eq(username) : null;
+    private BooleanExpression usernameMatches(MemberSearchCondition condition) {
+        return usernameFilterResolver.resolve(condition);
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+        return teamNameFilterResolver.resolve(teamName).getPredicate();
     }
 
     private BooleanExpression ageGoe(Integer ageGoe) {
@@ -4,6 +4,7 @@ import com.give928.querydsl.dto.MemberSearchCondition;
 import com.give928.querydsl.dto.MemberTeamDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -12,4 +13,7 @@ public interface MemberRepositoryCustom {
 
     Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
     Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+    Page<MemberTeamDto> searchPageEstimated(MemberSearchCondition condition, Pageable pageable);
+
+    Slice<MemberTeamDto> searchAfter(MemberSearchCondition condition, Long lastMemberId, int size);
 }
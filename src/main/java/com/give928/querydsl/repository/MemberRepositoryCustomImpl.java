@@ -3,6 +3,13 @@ package com.give928.querydsl.repository;
 import com.give928.querydsl.dto.MemberSearchCondition;
 import com.give928.querydsl.dto.MemberTeamDto;
 import com.give928.querydsl.dto.QMemberTeamDto;
+import com.give928.querydsl.repository.readmodel.MemberReadModel;
+import com.give928.querydsl.repository.support.CountQueryExecutor;
+import com.give928.querydsl.repository.support.MemberCountCache;
+import com.give928.querydsl.repository.support.MemberSearchResultCache;
+import com.give928.querydsl.repository.support.TeamNameFilter;
+import com.give928.querydsl.repository.support.TeamNameFilterResolver;
+import com.give928.querydsl.repository.support.UsernameFilterResolver;
 import com.querydsl.core.QueryResults;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
@@ -10,11 +17,14 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.support.PageableExecutionUtils;
-import org.springframework.util.StringUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 import static com.give928.querydsl.entity.QMember.member;
 import static com.give928.querydsl.entity.QTeam.team;
@@ -22,31 +32,45 @@ import static com.give928.querydsl.entity.QTeam.team;
 @RequiredArgsConstructor
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
     private final JPAQueryFactory queryFactory;
+    private final MemberCountCache memberCountCache;
+    private final MemberSearchQueryRegistry memberSearchQueryRegistry;
+    private final CountQueryExecutor countQueryExecutor;
+    private final TeamNameFilterResolver teamNameFilterResolver;
+    private final UsernameFilterResolver usernameFilterResolver;
+    private final MemberReadModel memberReadModel;
+    private final MemberSearchResultCache memberSearchResultCache;
 
+    /**
+     * 조건 모양별로 미리 만들어 둔 쿼리에 파라미터만 바인딩해서 조회
+     * Querydsl 로 작성한 동일한 쿼리는 MemberJpaRepository.search 참고
+     * 읽기 모델을 켜면 DB 를 조회하지 않는다. (페이징 조회도 동일, 읽기 모델을 읽는 중에는 DB 를 조회한다)
+     * username 시작/포함 검색은 템플릿과 읽기 모델이 지원하지 않으므로 Querydsl 로 조회한다.
+     */
     @Override
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id,
-                        member.username,
-                        member.age,
-                        team.id,
-                        team.name))
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                       teamNameEq(condition.getTeamName()),
-                       ageGoe(condition.getAgeGoe()),
-                       ageLoe(condition.getAgeLoe()))
-                .orderBy(member.id.asc())
-                .fetch();
+        Optional<List<MemberTeamDto>> readModelResult = memberReadModel.search(condition);
+        if (readModelResult.isPresent()) {
+            return readModelResult.get();
+        }
+        return memberSearchResultCache.get("MemberRepository.search", condition, () -> {
+            if (!condition.isExactUsername()) {
+                return getMemberContentQuery(condition, usernameMatches(condition)).fetch();
+            }
+            return memberSearchQueryRegistry.search(condition);
+        });
     }
 
     /**
      * 단순한 페이징, fetchResults() 사용
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        Optional<Page<MemberTeamDto>> readModelPage = memberReadModel.searchPage(condition, pageable);
+        if (readModelPage.isPresent()) {
+            return readModelPage.get();
+        }
         QueryResults<MemberTeamDto> results = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
@@ -56,7 +80,7 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                         team.name))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
+                .where(usernameMatches(condition),
                        teamNameEq(condition.getTeamName()),
                        ageGoe(condition.getAgeGoe()),
                        ageLoe(condition.getAgeLoe()))
@@ -76,7 +100,72 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
      * 데이터 조회 쿼리와, 전체 카운트 쿼리를 분리
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        Optional<Page<MemberTeamDto>> readModelPage = memberReadModel.searchPage(condition, pageable);
+        if (readModelPage.isPresent()) {
+            return readModelPage.get();
+        }
+        // content, count 쿼리가 같은 username 조건(트라이그램 후보)을 사용하도록 한 번만 만든다.
+        BooleanExpression username = usernameMatches(condition);
+        JPAQuery<Long> countQuery = getMemberCountQuery(condition, username);
+
+//        return new PageImpl<>(content, pageable, total);
+        return countQueryExecutor.getPage(() -> getMemberContent(condition, username, pageable), pageable,
+                                          () -> memberCountCache.getCount(condition, countQuery::fetchOne));
+    }
+
+    /**
+     * 추정 전체 카운트 페이징
+     * 캐시된 count 가 있으면 그 사이 데이터가 변경되었더라도 그대로 사용하므로, 반복 조회 시 count 쿼리를 생략한다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<MemberTeamDto> searchPageEstimated(MemberSearchCondition condition, Pageable pageable) {
+        Optional<Page<MemberTeamDto>> readModelPage = memberReadModel.searchPage(condition, pageable);
+        if (readModelPage.isPresent()) {
+            return readModelPage.get();
+        }
+        BooleanExpression username = usernameMatches(condition);
+        JPAQuery<Long> countQuery = getMemberCountQuery(condition, username);
+
+        return countQueryExecutor.getPage(() -> getMemberContent(condition, username, pageable), pageable,
+                                          () -> memberCountCache.getEstimatedCount(condition, countQuery::fetchOne));
+    }
+
+    private List<MemberTeamDto> getMemberContent(MemberSearchCondition condition, BooleanExpression username,
+                                                 Pageable pageable) {
+        return getMemberContentQuery(condition, username)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+    }
+
+    private JPAQuery<MemberTeamDto> getMemberContentQuery(MemberSearchCondition condition, BooleanExpression username) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(username,
+                       teamNameEq(condition.getTeamName()),
+                       ageGoe(condition.getAgeGoe()),
+                       ageLoe(condition.getAgeLoe()))
+                .orderBy(member.id.asc());
+    }
+
+    /**
+     * 커서(no offset) 페이징
+     * 마지막으로 조회한 member_id 이후부터 조회하므로 페이지가 깊어져도 앞의 행을 읽고 버리지 않는다.
+     * 다음 페이지 존재 여부는 size + 1 건을 조회해서 판단하고, count 쿼리는 실행하지 않는다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<MemberTeamDto> searchAfter(MemberSearchCondition condition, Long lastMemberId, int size) {
         List<MemberTeamDto> content = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
@@ -86,38 +175,51 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
                         team.name))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
+                .where(memberIdGt(lastMemberId),
+                       usernameMatches(condition),
                        teamNameEq(condition.getTeamName()),
                        ageGoe(condition.getAgeGoe()),
                        ageLoe(condition.getAgeLoe()))
                 .orderBy(member.id.asc())
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
+                .limit(size + 1L)
                 .fetch();
 
-        JPAQuery<Long> countQuery = getMemberCountQuery(condition);
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
 
-//        return new PageImpl<>(content, pageable, total);
-        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
     }
 
-    private JPAQuery<Long> getMemberCountQuery(MemberSearchCondition condition) {
-        return queryFactory
+    /**
+     * count 는 team 컬럼이 필요 없으므로 팀 이름 조건을 team_id 로 바꿀 수 없을 때만 조인한다.
+     */
+    private JPAQuery<Long> getMemberCountQuery(MemberSearchCondition condition, BooleanExpression username) {
+        TeamNameFilter teamNameFilter = teamNameFilterResolver.resolve(condition.getTeamName());
+        JPAQuery<Long> countQuery = queryFactory
                 .select(member.count())
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                       teamNameEq(condition.getTeamName()),
+                .from(member);
+        if (teamNameFilter.isJoinRequired()) {
+            countQuery.leftJoin(member.team, team);
+        }
+        return countQuery
+                .where(username,
+                       teamNameFilter.getPredicate(),
                        ageGoe(condition.getAgeGoe()),
                        ageLoe(condition.getAgeLoe()));
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return StringUtils.hasText(username) ? member.username.eq(username) : null;
+    private BooleanExpression memberIdGt(Long lastMemberId) {
+        return lastMemberId != null ? member.id.gt(lastMemberId) : null;
+    }
+
+    private BooleanExpression usernameMatches(MemberSearchCondition condition) {
+        return usernameFilterResolver.resolve(condition);
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+        return teamNameFilterResolver.resolve(teamName).getPredicate();
     }
 
     private BooleanExpression ageGoe(Integer ageGoe) {
@@ -4,25 +4,48 @@ import com.give928.querydsl.dto.MemberSearchCondition;
 import com.give928.querydsl.dto.MemberTeamDto;
 import com.give928.querydsl.dto.QMemberTeamDto;
 import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.repository.support.CountQueryExecutor;
+import com.give928.querydsl.repository.support.TeamNameFilter;
+import com.give928.querydsl.repository.support.TeamNameFilterResolver;
+import com.give928.querydsl.repository.support.UsernameFilterResolver;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.JPQLQuery;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
-import org.springframework.data.support.PageableExecutionUtils;
-import org.springframework.util.StringUtils;
-
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 
 import static com.give928.querydsl.entity.QMember.member;
 import static com.give928.querydsl.entity.QTeam.team;
 
 public class MemberRepositoryQuerydslSupportImpl extends QuerydslRepositorySupport implements MemberRepositoryQuerydslSupport {
+    private CountQueryExecutor countQueryExecutor;
+    private TeamNameFilterResolver teamNameFilterResolver;
+    private UsernameFilterResolver usernameFilterResolver;
+
     public MemberRepositoryQuerydslSupportImpl() {
         super(Member.class);
     }
 
+    @Autowired
+    public void setCountQueryExecutor(CountQueryExecutor countQueryExecutor) {
+        this.countQueryExecutor = countQueryExecutor;
+    }
+
+    @Autowired
+    public void setTeamNameFilterResolver(TeamNameFilterResolver teamNameFilterResolver) {
+        this.teamNameFilterResolver = teamNameFilterResolver;
+    }
+
+    @Autowired
+    public void setUsernameFilterResolver(UsernameFilterResolver usernameFilterResolver) {
+        this.usernameFilterResolver = usernameFilterResolver;
+    }
+
+    @Transactional(readOnly = true)
     public Page<MemberTeamDto> searchPageByQuerydslRepositorySupport(MemberSearchCondition condition, Pageable pageable) {
+        BooleanExpression username = usernameMatches(condition);
         JPQLQuery<MemberTeamDto> jpqlQuery = from(member)
                 .select(new QMemberTeamDto(
                         member.id,
@@ -31,7 +54,7 @@ public class MemberRepositoryQuerydslSupportImpl extends QuerydslRepositorySuppo
                         team.id,
                         team.name))
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
+                .where(username,
                        teamNameEq(condition.getTeamName()),
                        ageGoe(condition.getAgeGoe()),
                        ageLoe(condition.getAgeLoe()))
@@ -39,29 +62,31 @@ public class MemberRepositoryQuerydslSupportImpl extends QuerydslRepositorySuppo
 
         JPQLQuery<MemberTeamDto> memberTeamDtoJPQLQuery = getQuerydsl().applyPagination(pageable, jpqlQuery);
 
-        List<MemberTeamDto> content = memberTeamDtoJPQLQuery.fetch();
-
-        JPQLQuery<Long> countQuery = getMemberCountQuery(condition);
+        JPQLQuery<Long> countQuery = getMemberCountQuery(condition, username);
 
-        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+        return countQueryExecutor.getPage(memberTeamDtoJPQLQuery::fetch, pageable, countQuery::fetchOne);
     }
 
-    private JPQLQuery<Long> getMemberCountQuery(MemberSearchCondition condition) {
-        return from(member)
-                .select(member.count())
-                .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                       teamNameEq(condition.getTeamName()),
+    private JPQLQuery<Long> getMemberCountQuery(MemberSearchCondition condition, BooleanExpression username) {
+        TeamNameFilter teamNameFilter = teamNameFilterResolver.resolve(condition.getTeamName());
+        JPQLQuery<Long> countQuery = from(member)
+                .select(member.count());
+        if (teamNameFilter.isJoinRequired()) {
+            countQuery.leftJoin(member.team, team);
+        }
+        return countQuery
+                .where(username,
+                       teamNameFilter.getPredicate(),
                        ageGoe(condition.getAgeGoe()),
                        ageLoe(condition.getAgeLoe()));
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return StringUtils.hasText(username) ? member.username.eq(username) : null;
+    private BooleanExpression usernameMatches(MemberSearchCondition condition) {
+        return usernameFilterResolver.resolve(condition);
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+        return teamNameFilterResolver.resolve(teamName).getPredicate();
     }
 
     private BooleanExpression ageGoe(Integer ageGoe) {
@@ -0,0 +1,81 @@
+package com.give928.querydsl.repository;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.List;
+
+import static com.give928.querydsl.dto.MemberSearchCondition.*;
+
+/**
+ * 조건 모양별 search 쿼리 템플릿
+ * 조건은 4개뿐이라 가능한 쿼리 모양은 16개이므로, 모양마다 파라미터 바인딩 JPQL 을 미리 만들어 둔다.
+ * 요청마다 Querydsl 표현식 트리를 만들고 JPQL 로 직렬화하는 대신, 같은 JPQL 문자열로 하이버네이트 쿼리 플랜 캐시를 재사용하고 파라미터 값만 바인딩한다.
+ */
+@Component
+public class MemberSearchQueryRegistry {
+    @PersistenceContext
+    private EntityManager em;
+
+    private final String[] queries = new String[SHAPE_COUNT];
+
+    @PostConstruct
+    public void init() {
+        for (int shape = 0; shape < SHAPE_COUNT; shape++) {
+            queries[shape] = buildQuery(shape);
+            em.createQuery(queries[shape], MemberTeamDto.class); // 쿼리 플랜 미리 컴파일
+        }
+    }
+
+    /**
+     * username 은 일치 검색만 지원한다.
+     */
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        Assert.isTrue(condition.isExactUsername(), "Only exact username match is supported: " + condition);
+        int shape = condition.shape();
+        TypedQuery<MemberTeamDto> query = em.createQuery(queries[shape], MemberTeamDto.class);
+        if ((shape & USERNAME) != 0) {
+            query.setParameter("username", condition.getUsername());
+        }
+        if ((shape & TEAM_NAME) != 0) {
+            query.setParameter("teamName", condition.getTeamName());
+        }
+        if ((shape & AGE_GOE) != 0) {
+            query.setParameter("ageGoe", condition.getAgeGoe());
+        }
+        if ((shape & AGE_LOE) != 0) {
+            query.setParameter("ageLoe", condition.getAgeLoe());
+        }
+        return query.getResultList();
+    }
+
+    private String buildQuery(int shape) {
+        StringBuilder where = new StringBuilder();
+        if ((shape & USERNAME) != 0) {
+            and(where, "m.username = :username");
+        }
+        if ((shape & TEAM_NAME) != 0) {
+            and(where, "t.name = :teamName");
+        }
+        if ((shape & AGE_GOE) != 0) {
+            and(where, "m.age >= :ageGoe");
+        }
+        if ((shape & AGE_LOE) != 0) {
+            and(where, "m.age <= :ageLoe");
+        }
+        return "select new " + MemberTeamDto.class.getName() + "(m.id, m.username, m.age, t.id, t.name)"
+                + " from Member m left join m.team t"
+                + where
+                + " order by m.id asc";
+    }
+
+    private void and(StringBuilder where, String predicate) {
+        where.append(where.length() == 0 ? " where " : " and ").append(predicate);
+    }
+}
@@ -3,11 +3,15 @@ package com.give928.querydsl.repository;
 import com.give928.querydsl.dto.MemberSearchCondition;
 import com.give928.querydsl.entity.Member;
 import com.give928.querydsl.repository.support.Querydsl5RepositorySupport;
+import com.give928.querydsl.repository.support.TeamNameFilter;
+import com.give928.querydsl.repository.support.TeamNameFilterResolver;
+import com.give928.querydsl.repository.support.UsernameFilterResolver;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.StringUtils;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,8 +20,14 @@ import static com.give928.querydsl.entity.QTeam.team;
 
 @Repository
 public class MemberSupportRepository extends Querydsl5RepositorySupport<Member> {
-    public MemberSupportRepository() {
+    private final TeamNameFilterResolver teamNameFilterResolver;
+    private final UsernameFilterResolver usernameFilterResolver;
+
+    public MemberSupportRepository(TeamNameFilterResolver teamNameFilterResolver,
+                                   UsernameFilterResolver usernameFilterResolver) {
         super(Member.class);
+        this.teamNameFilterResolver = teamNameFilterResolver;
+        this.usernameFilterResolver = usernameFilterResolver;
     }
 
     public List<Member> basicSelect() {
@@ -31,32 +41,33 @@ public class MemberSupportRepository extends Querydsl5RepositorySupport<Member>
                 .fetch();
     }
 
+    /**
+     * 엔티티 조회와 count 모두 team 컬럼이 필요 없으므로 팀 이름 조건을 team_id 로 바꿀 수 없을 때만 조인한다.
+     */
+    @Transactional(readOnly = true)
     public Page<Member> applyPagination(MemberSearchCondition condition, Pageable pageable) {
+        TeamNameFilter teamNameFilter = teamNameFilterResolver.resolve(condition.getTeamName());
+        BooleanExpression username = usernameMatches(condition);
         return applyPagination(pageable,
-                               contentQuery -> contentQuery
-                                       .selectFrom(member)
-                                       .leftJoin(member.team, team)
-                                       .where(usernameEq(condition.getUsername()),
-                                              teamNameEq(condition.getTeamName()),
+                               contentQuery -> joinTeamIfRequired(contentQuery.selectFrom(member), teamNameFilter)
+                                       .where(username,
+                                              teamNameFilter.getPredicate(),
                                               ageGoe(condition.getAgeGoe()),
                                               ageLoe(condition.getAgeLoe())),
-                               countQuery -> countQuery
-                                       .select(member.count())
-                                       .from(member)
-                                       .leftJoin(member.team, team)
-                                       .where(usernameEq(condition.getUsername()),
-                                              teamNameEq(condition.getTeamName()),
+                               countQuery -> joinTeamIfRequired(countQuery.select(member.count()).from(member), teamNameFilter)
+                                       .where(username,
+                                              teamNameFilter.getPredicate(),
                                               ageGoe(condition.getAgeGoe()),
                                               ageLoe(condition.getAgeLoe()))
         );
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return StringUtils.hasText(username) ? member.username.eq(username) : null;
+    private <S> JPAQuery<S> joinTeamIfRequired(JPAQuery<S> query, TeamNameFilter teamNameFilter) {
+        return teamNameFilter.isJoinRequired() ? query.leftJoin(member.team, team) : query;
     }
 
-    private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+    private BooleanExpression usernameMatches(MemberSearchCondition condition) {
+        return usernameFilterResolver.resolve(condition);
     }
 
     private BooleanExpression ageGoe(Integer ageGoe) {
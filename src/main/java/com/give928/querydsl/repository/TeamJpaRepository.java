@@ -0,0 +1,59 @@
+package com.give928.querydsl.repository;
+
+import com.give928.querydsl.dto.TeamMembersDto;
+import com.give928.querydsl.entity.Team;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class TeamJpaRepository {
+    private final EntityManager em;
+
+    public void save(Team team) {
+        em.persist(team);
+    }
+
+    /**
+     * 2차 캐시 사용, 같은 id 는 DB 를 조회하지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Team> findById(Long id) {
+        return Optional.ofNullable(em.find(Team.class, id));
+    }
+
+    /**
+     * 자연 키(name) 조회, 자연 키 캐시와 2차 캐시를 사용하므로 캐시되어 있으면 DB 를 조회하지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Team> findByName(String name) {
+        return em.unwrap(Session.class)
+                .bySimpleNaturalId(Team.class)
+                .loadOptional(name);
+    }
+
+    /**
+     * 팀 목록과 소속 회원 조회
+     * 컬렉션 페치 조인은 페이징을 메모리에서 처리하므로 팀만 페이징 조회하고,
+     * members 는 @BatchSize 로 조회한 팀들을 100개씩 묶어서 in 절로 조회한다. (팀 100개까지 SQL 2개)
+     * 스트림으로 읽으면 팀이 한 건씩 영속성 컨텍스트에 올라와 묶을 수 없으므로 목록으로 먼저 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public List<TeamMembersDto> findAllWithMembers(Pageable pageable) {
+        return em.createQuery("select t from Team t order by t.id asc", Team.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList()
+                .stream()
+                .map(TeamMembersDto::of)
+                .collect(Collectors.toList());
+    }
+}
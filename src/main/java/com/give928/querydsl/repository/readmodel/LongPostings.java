@@ -0,0 +1,74 @@
+package com.give928.querydsl.repository.readmodel;
+
+import java.util.Arrays;
+
+/**
+ * 오름차순으로 정렬한 id 목록 (boxing 없는 long[])
+ * 추가/삭제는 이진 탐색 후 배열 복사로 처리하고, 증가하는 id 를 추가하면 끝에 붙는다.
+ * 동기화하지 않으므로 사용하는 쪽에서 잠근다.
+ */
+class LongPostings {
+    private static final long[] EMPTY = new long[0];
+
+    private long[] ids = EMPTY;
+    private int size;
+
+    /**
+     * 이미 오름차순으로 정렬한 배열을 복사하지 않고 감싼다.
+     */
+    static LongPostings of(long[] sortedIds) {
+        LongPostings postings = new LongPostings();
+        postings.ids = sortedIds;
+        postings.size = sortedIds.length;
+        return postings;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean add(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(8, size + (size >> 1)));
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+        return true;
+    }
+
+    boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    void clear() {
+        ids = EMPTY;
+        size = 0;
+    }
+
+    /**
+     * target 의 offset 위치부터 모든 id 를 복사한다.
+     */
+    void copyTo(long[] target, int offset) {
+        System.arraycopy(ids, 0, target, offset, size);
+    }
+}
@@ -0,0 +1,380 @@
+package com.give928.querydsl.repository.readmodel;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import com.give928.querydsl.repository.support.TransactionSupport;
+import com.give928.querydsl.util.LongIntHashMap;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.give928.querydsl.entity.QMember.member;
+import static com.give928.querydsl.entity.QTeam.team;
+
+/**
+ * 회원 검색용 인메모리 읽기 모델 (querydsl.read-model.enabled: true)
+ * 커밋된 EntityChangedEvent(하이버네이트 post-insert/update/delete)마다 바뀐 회원의 인덱스 항목만 고친다.
+ * - 회원 행: id → 슬롯 LongIntHashMap, 슬롯별 long[]/int[]/String[] 컬럼
+ * - username, 팀, age: 값별 회원 id 정렬 목록(LongPostings), age 범위 조건은 TreeMap 구간
+ * 변경 한 건의 비용은 해당 값의 id 목록 크기에 비례한다.
+ * 애플리케이션 시작 후와 벌크 연산 이후에는 별도 스레드에서 다시 읽고(ReadModelSupport), 읽는 동안에는 DB 에서 조회한다.
+ * 결과는 DB 조회와 같이 member_id 오름차순이다.
+ */
+@Component
+public class MemberReadModel extends ReadModelSupport<MemberReadModel.Index> {
+    private static final long NO_TEAM = -1;
+    private static final LongPostings EMPTY = new LongPostings();
+
+    private final boolean enabled;
+    private final JPAQueryFactory queryFactory;
+
+    public MemberReadModel(@Value("${querydsl.read-model.enabled:false}") boolean enabled,
+                           @Value("${querydsl.read-model.reload-threshold:1000}") int reloadThreshold,
+                           JPAQueryFactory queryFactory,
+                           PlatformTransactionManager transactionManager) {
+        super("member-read-model", reloadThreshold, transactionManager);
+        this.enabled = enabled;
+        this.queryFactory = queryFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            load();
+        }
+    }
+
+    /**
+     * @return 읽기 모델로 조회할 수 없으면(꺼져 있음, 읽는 중, 시작/포함 검색, 현재 스레드에 커밋되지 않은 변경이 있음) empty
+     */
+    public Optional<List<MemberTeamDto>> search(MemberSearchCondition condition) {
+        if (!isAvailable(condition)) {
+            return Optional.empty();
+        }
+        return read(index -> {
+            List<MemberTeamDto> dtos = new ArrayList<>();
+            index.find(condition.normalized(), 0, Long.MAX_VALUE, dtos);
+            return dtos;
+        });
+    }
+
+    /**
+     * 조건에 맞는 회원을 모두 모으지 않고 페이지에 해당하는 회원만 만들고, 전체 건수는 세기만 한다.
+     */
+    public Optional<Page<MemberTeamDto>> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        if (!isAvailable(condition)) {
+            return Optional.empty();
+        }
+        return read(index -> {
+            List<MemberTeamDto> dtos = new ArrayList<>(pageable.getPageSize());
+            long total = index.find(condition.normalized(), pageable.getOffset(),
+                                    pageable.getOffset() + pageable.getPageSize(), dtos);
+            return new PageImpl<>(dtos, pageable, total);
+        });
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || !event.isAbout(Member.class) && !event.isAbout(Team.class)) {
+            return;
+        }
+        collect(event);
+    }
+
+    /**
+     * 현재 스레드에 커밋되지 않은 변경이 있으면 읽기 모델에는 반영되어 있지 않으므로 DB 에서 조회해야 한다.
+     * username 은 일치 검색만 지원한다.
+     */
+    private boolean isAvailable(MemberSearchCondition condition) {
+        return enabled && condition.isExactUsername() && TransactionSupport.isReadOnlyOrNone();
+    }
+
+    @Override
+    protected Index readAll() {
+        Index index = new Index();
+        for (Tuple tuple : queryFactory.select(team.id, team.name).from(team).fetch()) {
+            index.putTeam(tuple.get(team.id), tuple.get(team.name));
+        }
+        for (Tuple tuple : queryFactory.select(member.id, member.username, member.age, member.team.id)
+                .from(member)
+                .orderBy(member.id.asc())
+                .fetch()) {
+            index.upsert(tuple.get(member.id), tuple.get(member.username), tuple.get(member.age),
+                         tuple.get(member.team.id));
+        }
+        return index;
+    }
+
+    @Override
+    protected void apply(Index index, EntityChangedEvent event) {
+        if (event.isAbout(Member.class)) {
+            long id = (Long) event.getId();
+            if (event.getType() == EntityChangedEvent.Type.DELETE) {
+                index.delete(id);
+                return;
+            }
+            Map<String, Object> state = event.getState();
+            Team memberTeam = (Team) state.get("team");
+            index.upsert(id, (String) state.get("username"), (Integer) state.get("age"),
+                         memberTeam != null ? memberTeam.getId() : null);
+        } else {
+            Long id = (Long) event.getId();
+            if (event.getType() == EntityChangedEvent.Type.DELETE) {
+                index.removeTeam(id);
+            } else {
+                index.putTeam(id, (String) event.getState().get("name"));
+            }
+        }
+    }
+
+    @Override
+    protected void refresh(Index index, List<EntityChangedEvent> events) {
+        Set<Long> memberIds = new LinkedHashSet<>();
+        Set<Long> teamIds = new LinkedHashSet<>();
+        for (EntityChangedEvent event : events) {
+            (event.isAbout(Member.class) ? memberIds : teamIds).add((Long) event.getId());
+        }
+        for (List<Long> chunk : chunks(teamIds)) {
+            Set<Long> missing = new LinkedHashSet<>(chunk);
+            for (Tuple tuple : queryFactory.select(team.id, team.name).from(team).where(team.id.in(chunk)).fetch()) {
+                index.putTeam(tuple.get(team.id), tuple.get(team.name));
+                missing.remove(tuple.get(team.id));
+            }
+            missing.forEach(index::removeTeam);
+        }
+        for (List<Long> chunk : chunks(memberIds)) {
+            Set<Long> missing = new LinkedHashSet<>(chunk);
+            for (Tuple tuple : queryFactory.select(member.id, member.username, member.age, member.team.id)
+                    .from(member)
+                    .where(member.id.in(chunk))
+                    .fetch()) {
+                index.upsert(tuple.get(member.id), tuple.get(member.username), tuple.get(member.age),
+                             tuple.get(member.team.id));
+                missing.remove(tuple.get(member.id));
+            }
+            missing.forEach(index::delete);
+        }
+    }
+
+    /**
+     * 회원 행과 값별 인덱스, 동기화하지 않으므로 ReadModelSupport 의 잠금 안에서 사용한다.
+     */
+    static class Index {
+        private final LongIntHashMap slots = new LongIntHashMap(1024);
+        private long[] ids = new long[1024];
+        private String[] usernames = new String[1024];
+        private int[] ages = new int[1024];
+        private long[] teamIds = new long[1024];
+        private int slotCount;
+        private int[] freeSlots = new int[16];
+        private int freeSlotCount;
+
+        private final LongPostings allIds = new LongPostings();
+        private final Map<String, LongPostings> idsByUsername = new HashMap<>();
+        private final Map<Long, LongPostings> idsByTeamId = new HashMap<>();
+        private final NavigableMap<Integer, LongPostings> idsByAge = new TreeMap<>();
+        private final Map<Long, String> teamNames = new HashMap<>();
+        private final Map<String, Long> teamIdsByName = new HashMap<>();
+
+        private void putTeam(Long id, String name) {
+            removeTeam(id);
+            teamNames.put(id, name);
+            teamIdsByName.put(name, id);
+        }
+
+        private void removeTeam(Long id) {
+            String previousName = teamNames.remove(id);
+            if (previousName != null) {
+                teamIdsByName.remove(previousName, id);
+            }
+        }
+
+        private void upsert(long id, String username, Integer age, Long teamId) {
+            int slot = slots.get(id);
+            if (slot == LongIntHashMap.MISSING) {
+                slot = allocateSlot();
+                slots.put(id, slot);
+                allIds.add(id);
+            } else {
+                unindex(slot);
+            }
+            ids[slot] = id;
+            usernames[slot] = username;
+            ages[slot] = age != null ? age : 0;
+            teamIds[slot] = teamId != null ? teamId : NO_TEAM;
+            index(slot);
+        }
+
+        private void delete(long id) {
+            int slot = slots.remove(id);
+            if (slot == LongIntHashMap.MISSING) {
+                return;
+            }
+            unindex(slot);
+            allIds.remove(id);
+            usernames[slot] = null;
+            if (freeSlotCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlotCount << 1);
+            }
+            freeSlots[freeSlotCount++] = slot;
+        }
+
+        private int allocateSlot() {
+            if (freeSlotCount > 0) {
+                return freeSlots[--freeSlotCount];
+            }
+            if (slotCount == ids.length) {
+                int capacity = slotCount << 1;
+                ids = Arrays.copyOf(ids, capacity);
+                usernames = Arrays.copyOf(usernames, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                teamIds = Arrays.copyOf(teamIds, capacity);
+            }
+            return slotCount++;
+        }
+
+        private void index(int slot) {
+            long id = ids[slot];
+            idsByUsername.computeIfAbsent(usernames[slot], key -> new LongPostings()).add(id);
+            if (teamIds[slot] != NO_TEAM) {
+                idsByTeamId.computeIfAbsent(teamIds[slot], key -> new LongPostings()).add(id);
+            }
+            idsByAge.computeIfAbsent(ages[slot], key -> new LongPostings()).add(id);
+        }
+
+        private void unindex(int slot) {
+            long id = ids[slot];
+            removePosting(idsByUsername, usernames[slot], id);
+            if (teamIds[slot] != NO_TEAM) {
+                removePosting(idsByTeamId, teamIds[slot], id);
+            }
+            removePosting(idsByAge, ages[slot], id);
+        }
+
+        private static <K> void removePosting(Map<K, LongPostings> index, K key, long id) {
+            LongPostings postings = index.get(key);
+            if (postings != null && postings.remove(id) && postings.isEmpty()) {
+                index.remove(key);
+            }
+        }
+
+        /**
+         * 가장 적은 후보를 주는 인덱스로 후보를 고르고 나머지 조건으로 거른다.
+         * 조건에 맞는 회원 중 [from, to) 번째만 dtos 에 담고, 전체 건수를 반환한다.
+         * 후보를 고른 인덱스가 유일한 조건이면(조건이 없으면 전체 id) 거를 필요가 없으므로 후보 목록에서 바로 페이지를 자른다.
+         */
+        private long find(MemberSearchCondition condition, long from, long to, List<MemberTeamDto> dtos) {
+            LongPostings candidates = allIds;
+            int conditionCount = 0;
+            if (condition.getUsername() != null) {
+                candidates = idsByUsername.getOrDefault(condition.getUsername(), EMPTY);
+                conditionCount++;
+            }
+            long teamId = NO_TEAM;
+            if (condition.getTeamName() != null) {
+                Long found = teamIdsByName.get(condition.getTeamName());
+                if (found == null) {
+                    return 0;
+                }
+                teamId = found;
+                LongPostings teamCandidates = idsByTeamId.getOrDefault(teamId, EMPTY);
+                if (conditionCount == 0 || teamCandidates.size() < candidates.size()) {
+                    candidates = teamCandidates;
+                }
+                conditionCount++;
+            }
+            if (condition.getAgeGoe() != null || condition.getAgeLoe() != null) {
+                LongPostings ageCandidates = ageRange(condition.getAgeGoe(), condition.getAgeLoe(),
+                                                      conditionCount == 0 ? Integer.MAX_VALUE : candidates.size());
+                if (ageCandidates != null) {
+                    candidates = ageCandidates;
+                }
+                conditionCount++;
+            }
+
+            if (conditionCount <= 1) {
+                int size = candidates.size();
+                for (long i = from; i < Math.min(to, size); i++) {
+                    dtos.add(toDto(slots.get(candidates.get((int) i))));
+                }
+                return size;
+            }
+            long count = 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                int slot = slots.get(candidates.get(i));
+                if (matches(slot, condition, teamId)) {
+                    if (count >= from && count < to) {
+                        dtos.add(toDto(slot));
+                    }
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private boolean matches(int slot, MemberSearchCondition condition, long teamId) {
+            return (condition.getUsername() == null || condition.getUsername().equals(usernames[slot]))
+                    && (condition.getTeamName() == null || teamIds[slot] == teamId)
+                    && (condition.getAgeGoe() == null || ages[slot] >= condition.getAgeGoe())
+                    && (condition.getAgeLoe() == null || ages[slot] <= condition.getAgeLoe());
+        }
+
+        /**
+         * @return 나이 범위에 속하는 회원 id (id 오름차순), 다른 인덱스 후보(limit)보다 많으면 null
+         */
+        private LongPostings ageRange(Integer ageGoe, Integer ageLoe, int limit) {
+            if (ageGoe != null && ageLoe != null && ageGoe > ageLoe) {
+                return EMPTY;
+            }
+            NavigableMap<Integer, LongPostings> range = idsByAge;
+            if (ageGoe != null) {
+                range = range.tailMap(ageGoe, true);
+            }
+            if (ageLoe != null) {
+                range = range.headMap(ageLoe, true);
+            }
+            int size = 0;
+            for (LongPostings postings : range.values()) {
+                size += postings.size();
+                if (size >= limit) {
+                    return null;
+                }
+            }
+            long[] found = new long[size];
+            int offset = 0;
+            for (LongPostings postings : range.values()) {
+                postings.copyTo(found, offset);
+                offset += postings.size();
+            }
+            Arrays.sort(found);
+            return LongPostings.of(found);
+        }
+
+        private MemberTeamDto toDto(int slot) {
+            Long teamId = teamIds[slot] != NO_TEAM ? teamIds[slot] : null;
+            return new MemberTeamDto(ids[slot], usernames[slot], ages[slot], teamId,
+                                     teamId != null ? teamNames.get(teamId) : null);
+        }
+    }
+}
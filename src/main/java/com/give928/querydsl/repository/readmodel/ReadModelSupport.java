@@ -0,0 +1,259 @@
+package com.give928.querydsl.repository.readmodel;
+
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 커밋된 EntityChangedEvent 로 갱신하는 인메모리 모델(S)의 공통 처리
+ * - 트랜잭션마다 동기화를 하나만 등록해서 변경을 모았다가 커밋 이후 한 번에 반영하고, 롤백되면 버린다.
+ *   알 수 없는 변경(벌크 연산 등)이 있거나 한 트랜잭션의 변경이 reload-threshold 이상이면 목록을 버리고 전체를 다시 읽는다.
+ * - 전체 읽기는 별도 스레드에서 새 모델을 만든 뒤 교체하며, 읽는 동안에는 read() 가 empty 를 반환하므로 호출하는 쪽에서 DB 를 조회한다.
+ * - 읽는 동안 커밋된 변경은 모아 두었다가 교체하기 전에 refresh() 로 새 모델에 반영한다.
+ * 처음 읽기를 요청하기 전에는 변경을 모으지 않는다. 모델은 읽기/쓰기 잠금으로 보호한다.
+ */
+@Slf4j
+abstract class ReadModelSupport<S> {
+    private static final int REFRESH_CHUNK_SIZE = 1000;
+
+    private final String name;
+    private final int reloadThreshold;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadFactory loaderThreadFactory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private S model;
+    private final List<EntityChangedEvent> deferredEvents = new ArrayList<>();
+    private volatile boolean inUse;
+    private volatile boolean loaded;
+    private boolean loading;
+    private boolean reloadRequested;
+
+    protected ReadModelSupport(String name, int reloadThreshold, PlatformTransactionManager transactionManager) {
+        this.name = name;
+        this.reloadThreshold = reloadThreshold;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-");
+        threadFactory.setDaemon(true);
+        this.loaderThreadFactory = threadFactory;
+    }
+
+    /**
+     * DB 에서 전체를 읽어 새 모델을 만든다. (읽기 전용 트랜잭션, 잠금 없음)
+     */
+    protected abstract S readAll();
+
+    /**
+     * 커밋된 변경 하나를 모델에 반영한다. (쓰기 잠금)
+     */
+    protected abstract void apply(S model, EntityChangedEvent event);
+
+    /**
+     * 전체 읽기 중 커밋된 변경을 아직 교체하지 않은 새 모델에 반영한다. (읽기 전용 트랜잭션, 잠금 없음)
+     * 읽기 결과에 이미 포함된 변경일 수도 있으므로 이벤트 상태를 덮어쓰지 말고 현재 값을 다시 읽어서 반영한다.
+     */
+    protected abstract void refresh(S model, List<EntityChangedEvent> events);
+
+    /**
+     * 어떤 행이 바뀌었는지 알 수 없어서 전체를 다시 읽어야 하는 변경인지 여부
+     */
+    protected boolean requiresReload(EntityChangedEvent event) {
+        return event.getType() == EntityChangedEvent.Type.BULK;
+    }
+
+    /**
+     * 변경을 현재 트랜잭션에 모은다. 트랜잭션이 없으면 바로 반영한다.
+     */
+    protected final void collect(EntityChangedEvent event) {
+        if (!inUse) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            committed(List.of(event), requiresReload(event));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(event);
+    }
+
+    /**
+     * @return 모델을 읽지 않았거나 다시 읽는 중이면 읽기를 요청하고 empty
+     */
+    protected final <T> Optional<T> read(Function<S, T> reader) {
+        if (!loaded) {
+            load();
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return loaded ? Optional.ofNullable(reader.apply(model)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 별도 스레드에서 전체를 읽는다. 이미 읽었거나 읽는 중이면 아무것도 하지 않는다.
+     */
+    protected final void load() {
+        inUse = true;
+        lock.writeLock().lock();
+        try {
+            if (loaded || loading) {
+                return;
+            }
+            loading = true;
+            reloadRequested = false;
+            deferredEvents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        loaderThreadFactory.newThread(this::loadInBackground).start();
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * refresh() 에서 id 로 다시 읽을 때 in 절 크기를 제한한다.
+     */
+    protected static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += REFRESH_CHUNK_SIZE) {
+            chunks.add(list.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+
+    private void committed(List<EntityChangedEvent> events, boolean reload) {
+        boolean startLoad = false;
+        lock.writeLock().lock();
+        try {
+            if (reload) {
+                // 다시 읽는 동안에는 이전 모델 대신 DB 에서 조회하므로 바로 버린다. 읽는 중이면 그 결과도 버리고 다시 읽는다.
+                loaded = false;
+                model = null;
+                reloadRequested = loading;
+                startLoad = !loading;
+            } else if (loading) {
+                deferredEvents.addAll(events);
+            } else if (loaded) {
+                events.forEach(event -> apply(model, event));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (startLoad) {
+            load();
+        }
+    }
+
+    private void loadInBackground() {
+        try {
+            while (!loadOnce()) {
+                log.debug("Reloading {} after a change that requires reload", name);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to load {}", name, e);
+            lock.writeLock().lock();
+            try {
+                loading = false;
+                deferredEvents.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 새 모델을 만들고, 읽는 동안 커밋된 변경이 남지 않을 때까지 반영한 뒤 교체한다.
+     * @return 읽는 동안 다시 읽어야 하는 변경이 커밋되었으면 false
+     */
+    private boolean loadOnce() {
+        S loadedModel = readOnlyTransaction.execute(status -> readAll());
+        while (true) {
+            List<EntityChangedEvent> events;
+            lock.writeLock().lock();
+            try {
+                if (reloadRequested) {
+                    reloadRequested = false;
+                    deferredEvents.clear();
+                    return false;
+                }
+                if (deferredEvents.isEmpty()) {
+                    model = loadedModel;
+                    loading = false;
+                    loaded = true;
+                    return true;
+                }
+                events = new ArrayList<>(deferredEvents);
+                deferredEvents.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            readOnlyTransaction.executeWithoutResult(status -> refresh(loadedModel, events));
+        }
+    }
+
+    /**
+     * 한 트랜잭션에서 발생한 변경 목록
+     * 트랜잭션 리소스로 바인딩하므로 REQUIRES_NEW 등으로 일시 중지되면 함께 풀었다가 재개할 때 다시 바인딩한다.
+     */
+    private class PendingChanges implements TransactionSynchronization {
+        private final List<EntityChangedEvent> events = new ArrayList<>();
+        private boolean reload;
+
+        private void add(EntityChangedEvent event) {
+            if (reload) {
+                return;
+            }
+            if (requiresReload(event) || events.size() + 1 >= reloadThreshold) {
+                reload = true;
+                events.clear();
+                return;
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ReadModelSupport.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ReadModelSupport.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ReadModelSupport.this);
+            if (status == STATUS_COMMITTED) {
+                committed(events, reload);
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.give928.querydsl.repository.readmodel;
+
+import com.give928.querydsl.dto.TeamStatsDto;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import com.give928.querydsl.util.LongIntHashMap;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.give928.querydsl.entity.QMember.member;
+import static com.give928.querydsl.entity.QTeam.team;
+
+/**
+ * 팀별 회원 나이 통계 (count, sum, avg, min, max)
+ * 커밋된 회원 insert/update(changeTeam 포함)/delete 이벤트로 팀별 요약을 증분 갱신하므로
+ * 조회 비용은 회원 수가 아니라 팀 수에 비례한다.
+ * min/max 는 삭제/변경 시 다음 값을 찾을 수 있도록 팀별 나이 히스토그램(TreeMap)으로 관리한다.
+ * 회원별 현재 (팀, 나이)를 기억해 두고 기억한 값을 빼고 새 값을 더하므로 같은 이벤트가 두 번 와도 한 번만 반영된다. (회원 id → 슬롯, 원시 타입 배열)
+ * 처음 조회할 때와 벌크 연산 이후에는 별도 스레드에서 다시 읽고(ReadModelSupport), 읽는 동안에는 DB 에서 group by 로 조회한다.
+ * 읽는 동안 커밋된 변경은 이벤트 상태 대신 DB 의 현재 값을 다시 읽어서 반영하므로, 읽기 결과보다 오래된 이벤트가 새 값을 덮어쓰지 않는다.
+ * 팀이 없는 회원은 제외한다.
+ */
+@Component
+public class TeamStatsModel extends ReadModelSupport<TeamStatsModel.Stats> {
+    private final JPAQueryFactory queryFactory;
+
+    public TeamStatsModel(@Value("${querydsl.read-model.reload-threshold:1000}") int reloadThreshold,
+                          JPAQueryFactory queryFactory,
+                          PlatformTransactionManager transactionManager) {
+        super("team-stats-model", reloadThreshold, transactionManager);
+        this.queryFactory = queryFactory;
+    }
+
+    /**
+     * @return 회원이 있는 팀의 통계 (팀 id 순)
+     */
+    public List<TeamStatsDto> findAll() {
+        return read(Stats::toDtos).orElseGet(this::findAllFromDatabase);
+    }
+
+    /**
+     * 처음 조회하기 전에는 변경을 모으지 않는다.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!event.isAbout(Member.class) && !event.isAbout(Team.class)) {
+            return;
+        }
+        collect(event);
+    }
+
+    private List<TeamStatsDto> findAllFromDatabase() {
+        NumberExpression<Long> age = member.age.castToNum(Long.class);
+        return queryFactory
+                .select(team.id, team.name, member.count(), age.sum(), member.age.min(), member.age.max())
+                .from(member)
+                .join(member.team, team)
+                .groupBy(team.id, team.name)
+                .orderBy(team.id.asc())
+                .fetch()
+                .stream()
+                .map(tuple -> {
+                    long count = tuple.get(member.count());
+                    long ageSum = tuple.get(age.sum());
+                    return new TeamStatsDto(tuple.get(team.id), tuple.get(team.name), count, ageSum,
+                                            (double) ageSum / count, tuple.get(member.age.min()),
+                                            tuple.get(member.age.max()));
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected Stats readAll() {
+        Stats stats = new Stats();
+        for (Tuple tuple : queryFactory.select(team.id, team.name).from(team).fetch()) {
+            stats.teamNames.put(tuple.get(team.id), tuple.get(team.name));
+        }
+        for (Tuple tuple : queryFactory
+                .select(member.id, member.team.id, member.age)
+                .from(member)
+                .where(member.team.isNotNull())
+                .fetch()) {
+            stats.put(tuple.get(member.id), tuple.get(member.team.id), tuple.get(member.age));
+        }
+        return stats;
+    }
+
+    @Override
+    protected void apply(Stats stats, EntityChangedEvent event) {
+        if (event.isAbout(Member.class)) {
+            long memberId = (Long) event.getId();
+            if (event.getType() == EntityChangedEvent.Type.DELETE) {
+                stats.remove(memberId);
+            } else {
+                Team memberTeam = (Team) event.getState().get("team");
+                stats.put(memberId, memberTeam != null ? memberTeam.getId() : null,
+                          (Integer) event.getState().get("age"));
+            }
+        } else {
+            Long teamId = (Long) event.getId();
+            if (event.getType() == EntityChangedEvent.Type.DELETE) {
+                stats.removeTeam(teamId);
+            } else {
+                stats.teamNames.put(teamId, (String) event.getState().get("name"));
+            }
+        }
+    }
+
+    @Override
+    protected void refresh(Stats stats, List<EntityChangedEvent> events) {
+        Set<Long> memberIds = new LinkedHashSet<>();
+        Set<Long> teamIds = new LinkedHashSet<>();
+        for (EntityChangedEvent event : events) {
+            (event.isAbout(Member.class) ? memberIds : teamIds).add((Long) event.getId());
+        }
+        for (List<Long> chunk : chunks(teamIds)) {
+            Set<Long> missing = new LinkedHashSet<>(chunk);
+            for (Tuple tuple : queryFactory.select(team.id, team.name).from(team).where(team.id.in(chunk)).fetch()) {
+                stats.teamNames.put(tuple.get(team.id), tuple.get(team.name));
+                missing.remove(tuple.get(team.id));
+            }
+            missing.forEach(stats::removeTeam);
+        }
+        for (List<Long> chunk : chunks(memberIds)) {
+            Set<Long> missing = new LinkedHashSet<>(chunk);
+            for (Tuple tuple : queryFactory
+                    .select(member.id, member.team.id, member.age)
+                    .from(member)
+                    .where(member.id.in(chunk))
+                    .fetch()) {
+                stats.put(tuple.get(member.id), tuple.get(member.team.id), tuple.get(member.age));
+                missing.remove(tuple.get(member.id));
+            }
+            missing.forEach(stats::remove);
+        }
+    }
+
+    /**
+     * 팀별 요약과 회원별 현재 (팀, 나이), 동기화하지 않으므로 ReadModelSupport 의 잠금 안에서 사용한다.
+     */
+    static class Stats {
+        private final Map<Long, Summary> summaries = new HashMap<>();
+        private final Map<Long, String> teamNames = new HashMap<>();
+        private final LongIntHashMap slots = new LongIntHashMap(1024);
+        private long[] memberTeamIds = new long[1024];
+        private int[] memberAges = new int[1024];
+        private int slotCount;
+        private int[] freeSlots = new int[16];
+        private int freeSlotCount;
+
+        private List<TeamStatsDto> toDtos() {
+            List<TeamStatsDto> result = new ArrayList<>();
+            new TreeMap<>(summaries).forEach((teamId, summary) -> {
+                if (summary.count > 0) {
+                    result.add(summary.toDto(teamId, teamNames.get(teamId)));
+                }
+            });
+            return result;
+        }
+
+        /**
+         * 회원의 현재 (팀, 나이)를 바꾼다. 이미 같은 값이면 요약은 바뀌지 않는다.
+         */
+        private void put(long memberId, Long teamId, Integer age) {
+            remove(memberId);
+            if (teamId == null) {
+                return;
+            }
+            int slot;
+            if (freeSlotCount > 0) {
+                slot = freeSlots[--freeSlotCount];
+            } else {
+                if (slotCount == memberTeamIds.length) {
+                    memberTeamIds = Arrays.copyOf(memberTeamIds, slotCount << 1);
+                    memberAges = Arrays.copyOf(memberAges, slotCount << 1);
+                }
+                slot = slotCount++;
+            }
+            slots.put(memberId, slot);
+            memberTeamIds[slot] = teamId;
+            memberAges[slot] = age != null ? age : 0;
+            summaries.computeIfAbsent(teamId, id -> new Summary()).add(memberAges[slot], 1);
+        }
+
+        private void remove(long memberId) {
+            int slot = slots.remove(memberId);
+            if (slot == LongIntHashMap.MISSING) {
+                return;
+            }
+            Summary summary = summaries.get(memberTeamIds[slot]);
+            if (summary != null) {
+                summary.add(memberAges[slot], -1);
+            }
+            if (freeSlotCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlotCount << 1);
+            }
+            freeSlots[freeSlotCount++] = slot;
+        }
+
+        private void removeTeam(Long teamId) {
+            teamNames.remove(teamId);
+            summaries.remove(teamId);
+        }
+    }
+
+    private static class Summary {
+        private long count;
+        private long ageSum;
+        private final TreeMap<Integer, Integer> ages = new TreeMap<>();
+
+        private void add(int age, int delta) {
+            count += delta;
+            ageSum += (long) age * delta;
+            ages.merge(age, delta, Integer::sum);
+            if (ages.get(age) <= 0) {
+                ages.remove(age);
+            }
+        }
+
+        private TeamStatsDto toDto(Long teamId, String teamName) {
+            return new TeamStatsDto(teamId, teamName, count, ageSum, (double) ageSum / count,
+                                    ages.firstKey(), ages.lastKey());
+        }
+    }
+}
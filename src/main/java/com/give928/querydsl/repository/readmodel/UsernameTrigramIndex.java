@@ -0,0 +1,238 @@
+package com.give928.querydsl.repository.readmodel;
+
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import com.give928.querydsl.repository.support.TransactionSupport;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.give928.querydsl.entity.QMember.member;
+
+/**
+ * username 트라이그램(3글자) 인덱스, 포함 검색(CONTAINS)의 후보 회원 id 를 찾는다.
+ * 트라이그램마다 회원 id 를 정렬된 long[] 로 관리하고, 검색어의 트라이그램 목록을 교집합해서 후보를 구한다.
+ * 후보는 트라이그램이 모두 들어 있는 회원이므로 DB 에서 like 로 한 번 더 확인해야 한다.
+ * 커밋된 EntityChangedEvent 의 변경 전/후 username 으로 갱신한다.
+ * 애플리케이션 시작 후와 벌크 연산 이후에는 별도 스레드에서 다시 읽고(ReadModelSupport), 읽는 동안에는 후보 없이(like 만 사용) 조회한다.
+ */
+@Component
+public class UsernameTrigramIndex extends ReadModelSupport<Map<String, UsernameTrigramIndex.Postings>> {
+    public static final int GRAM = 3;
+
+    private final boolean enabled;
+    private final int maxCandidates;
+    private final int maxScan;
+    private final JPAQueryFactory queryFactory;
+
+    public UsernameTrigramIndex(@Value("${querydsl.search.trigram.enabled:false}") boolean enabled,
+                                @Value("${querydsl.search.trigram.max-candidates:1000}") int maxCandidates,
+                                @Value("${querydsl.search.trigram.max-scan:100000}") int maxScan,
+                                @Value("${querydsl.read-model.reload-threshold:1000}") int reloadThreshold,
+                                JPAQueryFactory queryFactory,
+                                PlatformTransactionManager transactionManager) {
+        super("trigram-index", reloadThreshold, transactionManager);
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+        this.maxScan = maxScan;
+        this.queryFactory = queryFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            load();
+        }
+    }
+
+    /**
+     * 가장 짧은 트라이그램 목록을 훑으면서 나머지 목록에 모두 있는 id 만 max-candidates 까지 모은다.
+     * 가장 짧은 목록도 max-scan 보다 길면 훑지 않고, 후보가 max-candidates 를 넘으면 그 자리에서 멈춘다.
+     * @return 후보 회원 id (id 오름차순)
+     * 인덱스를 사용할 수 없으면(꺼져 있음, 읽는 중, 검색어가 3글자 미만, 현재 스레드에 커밋되지 않은 변경이 있음,
+     * 후보가 max-candidates 초과, 가장 짧은 목록이 max-scan 초과) empty
+     */
+    public Optional<long[]> candidates(String keyword) {
+        if (!enabled || keyword.length() < GRAM || !TransactionSupport.isReadOnlyOrNone()) {
+            return Optional.empty();
+        }
+        Set<String> grams = trigrams(keyword);
+        return read(postings -> {
+            Postings[] lists = new Postings[grams.size()];
+            int i = 0;
+            for (String gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists[i++] = list;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            return lists[0].size > maxScan ? null : intersect(lists, maxCandidates);
+        });
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || !event.isAbout(Member.class)) {
+            return;
+        }
+        collect(event);
+    }
+
+    /**
+     * 변경 전 username 이 없는 update 는 어떤 트라이그램을 빼야 하는지 알 수 없으므로 다시 읽는다.
+     */
+    @Override
+    protected boolean requiresReload(EntityChangedEvent event) {
+        return super.requiresReload(event)
+                || event.getType() == EntityChangedEvent.Type.UPDATE && event.getPreviousState().isEmpty();
+    }
+
+    @Override
+    protected Map<String, Postings> readAll() {
+        Map<String, Postings> postings = new HashMap<>();
+        for (Tuple tuple : queryFactory.select(member.id, member.username).from(member).fetch()) {
+            add(postings, tuple.get(member.id), tuple.get(member.username));
+        }
+        return postings;
+    }
+
+    @Override
+    protected void apply(Map<String, Postings> postings, EntityChangedEvent event) {
+        long id = (Long) event.getId();
+        String previous = (String) event.getPreviousState().get("username");
+        String current = (String) event.getState().get("username");
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        remove(postings, id, previous);
+        add(postings, id, current);
+    }
+
+    /**
+     * 읽기 결과에는 이벤트에 나온 username 중 하나가 들어 있으므로 모두 뺀 뒤 DB 의 현재 username 을 더한다.
+     */
+    @Override
+    protected void refresh(Map<String, Postings> postings, List<EntityChangedEvent> events) {
+        Map<Long, Set<String>> usernamesById = new LinkedHashMap<>();
+        for (EntityChangedEvent event : events) {
+            Set<String> usernames = usernamesById.computeIfAbsent((Long) event.getId(), id -> new HashSet<>());
+            usernames.add((String) event.getPreviousState().get("username"));
+            usernames.add((String) event.getState().get("username"));
+        }
+        usernamesById.forEach((id, usernames) -> usernames.forEach(username -> remove(postings, id, username)));
+        for (List<Long> chunk : chunks(usernamesById.keySet())) {
+            for (Tuple tuple : queryFactory.select(member.id, member.username)
+                    .from(member)
+                    .where(member.id.in(chunk))
+                    .fetch()) {
+                add(postings, tuple.get(member.id), tuple.get(member.username));
+            }
+        }
+    }
+
+    private static void add(Map<String, Postings> postings, long id, String username) {
+        if (username != null) {
+            trigrams(username).forEach(gram -> postings.computeIfAbsent(gram, key -> new Postings()).add(id));
+        }
+    }
+
+    private static void remove(Map<String, Postings> postings, long id, String username) {
+        if (username != null) {
+            trigrams(username).forEach(gram -> {
+                Postings list = postings.get(gram);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(gram);
+                }
+            });
+        }
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * lists[0] 의 id 중 나머지 목록에 모두 있는 id, 목록마다 다음 탐색 위치를 기억하므로 각 목록은 한 번만 앞으로 훑는다.
+     * @return limit 를 넘으면 null
+     */
+    private static long[] intersect(Postings[] lists, int limit) {
+        long[] result = new long[Math.min(lists[0].size, limit)];
+        int count = 0;
+        int[] from = new int[lists.length];
+        for (int i = 0; i < lists[0].size; i++) {
+            long id = lists[0].ids[i];
+            if (containsAll(lists, from, id)) {
+                if (count == result.length) {
+                    return null;
+                }
+                result[count++] = id;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static boolean containsAll(Postings[] lists, int[] from, long id) {
+        for (int j = 1; j < lists.length; j++) {
+            int index = Arrays.binarySearch(lists[j].ids, from[j], lists[j].size, id);
+            if (index < 0) {
+                from[j] = -index - 1;
+                return false;
+            }
+            from[j] = index + 1;
+        }
+        return true;
+    }
+
+    /**
+     * 정렬된 회원 id 목록, 시퀀스로 만든 id 는 대부분 뒤에 붙는다.
+     */
+    static class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int index = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertion = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.give928.querydsl.repository.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 청크 단위 벌크 연산 진행 상황 (청크 트랜잭션이 커밋될 때마다 전달)
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class BulkProgress {
+    private final int chunk;
+    private final long processedId;
+    private final long lastId;
+    private final long affectedRows;
+}
@@ -0,0 +1,155 @@
+package com.give928.querydsl.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 페이징 content 쿼리와 count 쿼리 실행
+ * parallel-count 를 켜면 count 쿼리를 별도 스레드의 읽기 전용 트랜잭션(별도 EntityManager, 커넥션)에서 content 쿼리와 동시에 실행한다.
+ * PageableExecutionUtils 가 count 가 필요 없다고 판단하면 실행 중인 count 는 취소한다.
+ * 쓰기 트랜잭션 안에서는 다른 커넥션에서 아직 커밋되지 않은 변경을 볼 수 없으므로 기존처럼 순서대로 실행한다.
+ * 호출 스레드는 커넥션을 가진 채 count 를 기다리므로 커넥션 풀이 고갈되지 않도록
+ * - 스레드 수는 커넥션 풀 크기의 절반 이하, 대기 큐는 queue-capacity 로 제한하고
+ * - 큐가 가득 차거나 timeout 안에 count 가 시작하지 않으면 큐에서 빼고 호출 스레드에서 순서대로 실행한다.
+ * - 이미 시작한 count 는 다시 실행하지 않고 기다린다. count 트랜잭션에 timeout 을 걸어 두므로 JDBC query timeout 으로 DB 에서 취소된다.
+ * count 가 필요 없어지면 스레드 인터럽트만으로는 실행 중인 문장이 멈추지 않으므로 Session.cancelQuery() 로 문장을 취소한다.
+ */
+@Slf4j
+@Component
+public class CountQueryExecutor {
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    private final EntityManager entityManager;
+    private final boolean parallel;
+    private final long timeoutNanos;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor executor;
+
+    public CountQueryExecutor(EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${querydsl.paging.parallel-count.enabled:false}") boolean parallel,
+                              @Value("${querydsl.paging.parallel-count.pool-size:4}") int poolSize,
+                              @Value("${querydsl.paging.parallel-count.queue-capacity:4}") int queueCapacity,
+                              @Value("${querydsl.paging.parallel-count.timeout:1s}") Duration timeout,
+                              @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        this.entityManager = entityManager;
+        this.parallel = parallel;
+        this.timeoutNanos = timeout.toNanos();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 트랜잭션 timeout 은 초 단위이며 Hibernate 가 남은 시간을 JDBC query timeout 으로 건다.
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("count-query-");
+        threadFactory.setDaemon(true);
+        int threads = Math.max(1, Math.min(poolSize, connectionPoolSize / 2));
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory,
+                                               new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public <T> Page<T> getPage(Supplier<List<T>> contentQuery, Pageable pageable, LongSupplier countQuery) {
+        if (!parallel || !TransactionSupport.isReadOnlyOrNone()) {
+            return PageableExecutionUtils.getPage(contentQuery.get(), pageable, countQuery);
+        }
+
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        AtomicReference<Session> session = new AtomicReference<>();
+        Future<Long> count;
+        try {
+            count = executor.submit(() -> {
+                if (Thread.currentThread().isInterrupted() || !state.compareAndSet(QUEUED, RUNNING)) {
+                    throw new CancellationException();
+                }
+                return readOnlyTransaction.execute(status -> {
+                    session.set(entityManager.unwrap(Session.class));
+                    try {
+                        return countQuery.getAsLong();
+                    } finally {
+                        session.set(null);
+                    }
+                });
+            });
+        } catch (RejectedExecutionException e) {
+            return PageableExecutionUtils.getPage(contentQuery.get(), pageable, countQuery);
+        }
+        try {
+            List<T> content = contentQuery.get();
+            return PageableExecutionUtils.getPage(content, pageable, () -> await(count, state, countQuery));
+        } finally {
+            if (!count.isDone()) {
+                count.cancel(true);
+                cancelQuery(session.get());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * timeout 안에 시작하지 않은 count 는 큐에서 빼고 호출 스레드에서 실행한다.
+     * 이미 실행 중인 count 는 다시 실행하지 않고 끝날 때까지 기다린다. (트랜잭션 timeout 으로 제한)
+     */
+    private long await(Future<Long> count, AtomicInteger state, LongSupplier countQuery) {
+        try {
+            try {
+                return count.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (state.compareAndSet(QUEUED, ABANDONED)) {
+                    count.cancel(false);
+                    return countQuery.getAsLong();
+                }
+                return count.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for count query", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Count query failed", e.getCause());
+        }
+    }
+
+    private static void cancelQuery(Session session) {
+        if (session == null) {
+            return;
+        }
+        try {
+            session.cancelQuery();
+        } catch (RuntimeException e) {
+            // 취소하는 사이에 count 가 끝나서 세션이 닫힌 경우
+            log.debug("Failed to cancel count query", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.give928.querydsl.repository.support;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 페이징 count 쿼리 결과 캐시
+ * 정규화한 MemberSearchCondition 을 키로 사용하고, Member/Team 이 변경되면 세대(generation)를 올려 기존 값을 무효화한다.
+ * - exact: TTL 이내이고 이후 변경이 없는 값만 사용
+ * - estimated: 변경 여부와 상관없이 estimated-ttl 이내의 값이면 사용 (추정치)
+ */
+@Component
+public class MemberCountCache {
+    private final long ttlNanos;
+    private final long estimatedTtlNanos;
+    private final Map<MemberSearchCondition, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final TransactionSynchronization invalidateAfterCompletion = new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+            invalidateAll();
+        }
+    };
+
+    public MemberCountCache(@Value("${querydsl.count-cache.ttl:10s}") Duration ttl,
+                            @Value("${querydsl.count-cache.estimated-ttl:5m}") Duration estimatedTtl,
+                            @Value("${querydsl.count-cache.max-size:1000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.estimatedTtlNanos = estimatedTtl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MemberSearchCondition, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public long getCount(MemberSearchCondition condition, LongSupplier countQuery) {
+        MemberSearchCondition key = condition.normalized();
+        Entry entry = find(key);
+        if (entry != null && entry.generation == generation.get() && entry.isYoungerThan(ttlNanos)) {
+            return entry.count;
+        }
+        return load(key, countQuery);
+    }
+
+    public long getEstimatedCount(MemberSearchCondition condition, LongSupplier countQuery) {
+        MemberSearchCondition key = condition.normalized();
+        Entry entry = find(key);
+        if (entry != null && entry.isYoungerThan(estimatedTtlNanos)) {
+            return entry.count;
+        }
+        return load(key, countQuery);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * flush 시점에 바로 무효화하고, 커밋/롤백 이후에도 한 번 더 무효화한다.
+     * 커밋 전 다른 트랜잭션이 이전 데이터로 다시 채운 값이 남지 않도록 하기 위함이다.
+     * 트랜잭션 동기화는 Set 으로 관리되므로 같은 인스턴스를 등록하면 트랜잭션당 한 번만 실행된다.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!event.isAbout(Member.class) && !event.isAbout(Team.class)) {
+            return;
+        }
+        invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(invalidateAfterCompletion);
+        }
+    }
+
+    private Entry find(MemberSearchCondition key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private long load(MemberSearchCondition key, LongSupplier countQuery) {
+        long loadGeneration = generation.get();
+        long count = countQuery.getAsLong();
+        synchronized (entries) {
+            entries.put(key, new Entry(count, System.nanoTime(), loadGeneration));
+        }
+        return count;
+    }
+
+    private static class Entry {
+        private final long count;
+        private final long loadedAt;
+        private final long generation;
+
+        private Entry(long count, long loadedAt, long generation) {
+            this.count = count;
+            this.loadedAt = loadedAt;
+            this.generation = generation;
+        }
+
+        private boolean isYoungerThan(long nanos) {
+            return System.nanoTime() - loadedAt < nanos;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.give928.querydsl.repository.support;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.dto.UsernameMatch;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 회원 검색(search) 결과 캐시
+ * 조회한 리포지토리와 정규화한 MemberSearchCondition 을 키로 사용하고, 캐시한 전체 행 수가 max-rows 를 넘거나 ttl 이 지나면 제거한다.
+ * 결과 행 수가 max-entry-rows 보다 많으면 캐시하지 않는다.
+ * Member/Team 이 변경되면 변경 전/후 상태가 조건에 맞는(결과가 달라질 수 있는) 항목만 제거하고,
+ * 변경 내용을 알 수 없거나(벌크 연산 등) 한 트랜잭션의 변경이 invalidate-all-threshold 이상이면 전체를 제거한다.
+ * 트랜잭션 안의 변경은 모아 두었다가 커밋 후 캐시를 한 번만 훑어서 제거한다.
+ * /actuator/prometheus 에서 cache_gets{cache="memberSearch"}, cache_evictions 등으로 조회한다.
+ */
+@Component
+public class MemberSearchResultCache {
+    public static final String CACHE_NAME = "memberSearch";
+
+    private final boolean enabled;
+    private final int maxEntryRows;
+    private final int invalidateAllThreshold;
+    private final Cache<Key, Result> cache;
+    private final Counter invalidations;
+    private final AtomicLong generation = new AtomicLong();
+
+    public MemberSearchResultCache(@Value("${querydsl.result-cache.enabled:true}") boolean enabled,
+                                   @Value("${querydsl.result-cache.ttl:30s}") Duration ttl,
+                                   @Value("${querydsl.result-cache.max-rows:100000}") long maxRows,
+                                   @Value("${querydsl.result-cache.max-entry-rows:10000}") int maxEntryRows,
+                                   @Value("${querydsl.result-cache.invalidate-all-threshold:1000}") int invalidateAllThreshold,
+                                   MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxEntryRows = maxEntryRows;
+        this.invalidateAllThreshold = invalidateAllThreshold;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Key key, Result result) -> Math.max(1, result.rows.size()))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.invalidations = Counter.builder("member.search.cache.invalidations")
+                .description("Member/Team 변경으로 제거한 검색 결과 수")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 캐시된 결과가 있으면 반환하고, 없으면 query 를 실행해서 캐시한다.
+     * 현재 스레드에 커밋되지 않은 변경이 있으면 캐시를 사용하지 않는다.
+     * 반환한 목록은 수정할 수 없다.
+     */
+    public List<MemberTeamDto> get(String source, MemberSearchCondition condition, Supplier<List<MemberTeamDto>> query) {
+        if (!enabled || !TransactionSupport.isReadOnlyOrNone()) {
+            return query.get();
+        }
+        Key key = new Key(source, condition.normalized());
+        Result cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.rows;
+        }
+        long loadGeneration = generation.get();
+        List<MemberTeamDto> rows = List.copyOf(query.get());
+        if (rows.size() > maxEntryRows) {
+            return rows;
+        }
+        Result result = new Result(rows);
+        cache.put(key, result);
+        // 조회 중 변경이 있었으면 이전 데이터일 수 있으므로 넣은 값을 다시 제거한다.
+        if (generation.get() != loadGeneration) {
+            cache.asMap().remove(key, result);
+        }
+        return result.rows;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidateIf(entry -> true);
+    }
+
+    /**
+     * flush 시점에는 세대(generation)만 올려 조회 중인 값이 캐시되지 않게 하고,
+     * 변경은 트랜잭션별로 모아 두었다가 커밋 이후 한 번에 제거한다. (커밋 전 다른 트랜잭션은 이전 데이터를 보므로 기존 값이 맞다)
+     * 트랜잭션 동기화가 없으면 바로 제거한다.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!event.isAbout(Member.class) && !event.isAbout(Team.class)) {
+            return;
+        }
+        generation.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(List.of(event));
+            return;
+        }
+        PendingInvalidation pending = (PendingInvalidation) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInvalidation();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(event);
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 변경 목록에 영향을 받는 항목을 캐시를 한 번 훑어서 제거한다.
+     */
+    private void invalidate(List<EntityChangedEvent> events) {
+        generation.incrementAndGet();
+        if (events.size() >= invalidateAllThreshold
+                || events.stream().anyMatch(MemberSearchResultCache::isUnknownChange)) {
+            invalidateIf(entry -> true);
+            return;
+        }
+        invalidateIf(entry -> events.stream().anyMatch(event -> isAffected(entry, event)));
+    }
+
+    private static boolean isUnknownChange(EntityChangedEvent event) {
+        return event.getType() == EntityChangedEvent.Type.BULK
+                || event.getType() == EntityChangedEvent.Type.UPDATE && event.getPreviousState().isEmpty();
+    }
+
+    private boolean isAffected(Map.Entry<Key, Result> entry, EntityChangedEvent event) {
+        if (event.isAbout(Member.class)) {
+            return matches(entry.getKey().condition, event.getPreviousState())
+                    || matches(entry.getKey().condition, event.getState());
+        }
+        return isAffectedByTeam(entry, event);
+    }
+
+    private void invalidateIf(Predicate<Map.Entry<Key, Result>> affected) {
+        cache.asMap().entrySet().removeIf(entry -> {
+            if (affected.test(entry)) {
+                invalidations.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * 회원 상태가 검색 조건에 맞는지 여부
+     * 팀 이름을 확인할 수 없으면(초기화되지 않은 프록시) 맞는 것으로 본다.
+     */
+    private boolean matches(MemberSearchCondition condition, Map<String, Object> state) {
+        if (state.isEmpty()) {
+            return false;
+        }
+        String username = (String) state.get("username");
+        Integer age = (Integer) state.get("age");
+        Team team = (Team) state.get("team");
+        if (condition.getUsername() != null && !usernameMatches(condition, username)) {
+            return false;
+        }
+        if (condition.getAgeGoe() != null && (age == null || age < condition.getAgeGoe())) {
+            return false;
+        }
+        if (condition.getAgeLoe() != null && (age == null || age > condition.getAgeLoe())) {
+            return false;
+        }
+        if (condition.getTeamName() != null) {
+            return team != null && (!Hibernate.isInitialized(team) || condition.getTeamName().equals(team.getName()));
+        }
+        return true;
+    }
+
+    private boolean usernameMatches(MemberSearchCondition condition, String username) {
+        if (username == null) {
+            return false;
+        }
+        if (condition.getUsernameMatch() == UsernameMatch.PREFIX) {
+            return username.startsWith(condition.getUsername());
+        }
+        if (condition.getUsernameMatch() == UsernameMatch.CONTAINS) {
+            return username.contains(condition.getUsername());
+        }
+        return username.equals(condition.getUsername());
+    }
+
+    /**
+     * 팀 이름 조건이 변경 전/후 팀 이름과 같거나, 결과에 해당 팀(팀 이름)이 포함되어 있으면 영향을 받는다.
+     */
+    private boolean isAffectedByTeam(Map.Entry<Key, Result> entry, EntityChangedEvent event) {
+        String teamName = entry.getKey().condition.getTeamName();
+        if (teamName != null && (teamName.equals(event.getPreviousState().get("name"))
+                || teamName.equals(event.getState().get("name")))) {
+            return true;
+        }
+        return entry.getValue().teamIds.contains(event.getId());
+    }
+
+    /**
+     * 한 트랜잭션에서 발생한 변경 목록
+     * 트랜잭션 리소스로 바인딩하므로 REQUIRES_NEW 등으로 일시 중지되면 함께 풀었다가 재개할 때 다시 바인딩한다.
+     * threshold 이상 쌓이면 목록을 버리고 전체 제거로 처리한다.
+     */
+    private class PendingInvalidation implements TransactionSynchronization {
+        private final List<EntityChangedEvent> events = new ArrayList<>();
+        private boolean all;
+
+        private void add(EntityChangedEvent event) {
+            if (all) {
+                return;
+            }
+            if (isUnknownChange(event) || events.size() + 1 >= invalidateAllThreshold) {
+                all = true;
+                events.clear();
+                return;
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(MemberSearchResultCache.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(MemberSearchResultCache.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(MemberSearchResultCache.this);
+            if (status != STATUS_COMMITTED) {
+                generation.incrementAndGet();
+            } else if (all) {
+                invalidateAll();
+            } else {
+                invalidate(events);
+            }
+        }
+    }
+
+    /**
+     * 캐시한 결과와 결과에 포함된 팀 id (팀 변경 시 결과를 훑지 않고 확인)
+     */
+    private static class Result {
+        private final List<MemberTeamDto> rows;
+        private final Set<Long> teamIds;
+
+        private Result(List<MemberTeamDto> rows) {
+            this.rows = rows;
+            this.teamIds = rows.stream()
+                    .map(MemberTeamDto::getTeamId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
+    private static class Key {
+        private final String source;
+        private final MemberSearchCondition condition;
+
+        private Key(String source, MemberSearchCondition condition) {
+            this.source = source;
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return source.equals(key.source) && condition.equals(key.condition);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, condition);
+        }
+    }
+}
@@ -12,13 +12,11 @@ import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
 import org.springframework.data.jpa.repository.support.Querydsl;
 import org.springframework.data.querydsl.SimpleEntityPathResolver;
-import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
-import java.util.List;
 import java.util.function.Function;
 
 @Repository
@@ -27,6 +25,7 @@ public abstract class Querydsl5RepositorySupport<T> {
     private Querydsl querydsl;
     private EntityManager entityManager;
     private JPAQueryFactory queryFactory;
+    private CountQueryExecutor countQueryExecutor;
 
     protected Querydsl5RepositorySupport(Class<T> domainClass) {
         Assert.notNull(domainClass, "Domain class must not be null!");
@@ -44,11 +43,17 @@ public abstract class Querydsl5RepositorySupport<T> {
         this.queryFactory = new JPAQueryFactory(entityManager);
     }
 
+    @Autowired
+    public void setCountQueryExecutor(CountQueryExecutor countQueryExecutor) {
+        this.countQueryExecutor = countQueryExecutor;
+    }
+
     @PostConstruct
     public void validate() {
         Assert.notNull(entityManager, "EntityManager must not be null!");
         Assert.notNull(querydsl, "Querydsl must not be null!");
         Assert.notNull(queryFactory, "QueryFactory must not be null!");
+        Assert.notNull(countQueryExecutor, "CountQueryExecutor must not be null!");
     }
 
     protected JPAQueryFactory getQueryFactory() {
@@ -74,8 +79,8 @@ public abstract class Querydsl5RepositorySupport<T> {
     protected <S extends T> Page<S> applyPagination(Pageable pageable, Function<JPAQueryFactory, JPAQuery<S>> contentQuery,
                                           Function<JPAQueryFactory, JPAQuery<Long>> countQuery) {
         JPAQuery<S> jpaContentQuery = contentQuery.apply(getQueryFactory());
-        List<S> content = getQuerydsl().applyPagination(pageable, jpaContentQuery).fetch();
         JPAQuery<Long> countResult = countQuery.apply(getQueryFactory());
-        return PageableExecutionUtils.getPage(content, pageable, countResult::fetchOne);
+        return countQueryExecutor.getPage(getQuerydsl().applyPagination(pageable, jpaContentQuery)::fetch, pageable,
+                                          countResult::fetchOne);
     }
 }
@@ -0,0 +1,156 @@
+package com.give928.querydsl.repository.support;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 동시에 들어온 같은 회원 검색(single-flight)을 한 번만 실행하고 결과를 함께 사용한다.
+ * 메서드와 정규화한 인자가 같으면 같은 검색이며, 실행 중인 검색에만 합류하고 끝난 결과는 보관하지 않는다.
+ * - 현재 스레드에 커밋되지 않은 변경이 있으면(읽기/쓰기 트랜잭션) 합류하지 않고 직접 실행
+ * - 먼저 시작한 검색 이후 Member/Team 이 변경되었으면(TableVersion) 합류하지 않고 직접 실행
+ * 결과 객체를 여러 호출자가 공유하므로 List 결과는 수정할 수 없는 복사본으로 반환한다. (Page/Slice 의 content 는 원래 수정할 수 없다)
+ * 먼저 시작한 검색이 timeout 안에 끝나지 않으면 기다리지 않고 직접 실행한다.
+ */
+@Aspect
+@Component
+public class SearchCoalescingAspect {
+    private final boolean enabled;
+    private final long timeoutNanos;
+    private final TableVersion tableVersion;
+    private final Counter coalesced;
+    private final Map<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    public SearchCoalescingAspect(@Value("${querydsl.search.coalescing.enabled:true}") boolean enabled,
+                                  @Value("${querydsl.search.coalescing.timeout:3s}") Duration timeout,
+                                  TableVersion tableVersion,
+                                  MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.timeoutNanos = timeout.toNanos();
+        this.tableVersion = tableVersion;
+        this.coalesced = Counter.builder("member.repository.coalesced")
+                .description("실행 중인 같은 검색에 합류한 호출 수")
+                .register(meterRegistry);
+    }
+
+    @Around("bean(memberRepository) && execution(* com.give928.querydsl.repository.MemberRepositoryCustom.*(..))")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled || !TransactionSupport.isReadOnlyOrNone()) {
+            return joinPoint.proceed();
+        }
+        Key key = new Key(joinPoint.getSignature().toLongString(), normalized(joinPoint.getArgs()));
+        Flight flight = new Flight(tableVersion.current(Member.class, Team.class));
+        Flight running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            if (running.version == flight.version) {
+                Optional<Object> result = running.await(timeoutNanos);
+                if (result.isPresent()) {
+                    coalesced.increment();
+                    return result.get();
+                }
+            }
+            return shareable(joinPoint.proceed());
+        }
+        try {
+            Object result = shareable(joinPoint.proceed());
+            flight.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    int inFlight() {
+        return flights.size();
+    }
+
+    private Object shareable(Object result) {
+        if (result instanceof List) {
+            return Collections.unmodifiableList(new ArrayList<>((List<?>) result));
+        }
+        return result;
+    }
+
+    private List<Object> normalized(Object[] args) {
+        List<Object> normalized = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            normalized.add(arg instanceof MemberSearchCondition ? ((MemberSearchCondition) arg).normalized() : arg);
+        }
+        return normalized;
+    }
+
+    private static class Flight {
+        private final long version;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Flight(long version) {
+            this.version = version;
+        }
+
+        /**
+         * 먼저 시작한 검색의 결과를 timeout 까지 기다린다. 실패하면 같은 예외를 던지고, 시간이 지나면 empty
+         */
+        private Optional<Object> await(long timeoutNanos) throws Throwable {
+            try {
+                return Optional.ofNullable(result.get(timeoutNanos, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                return Optional.empty();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            } catch (CancellationException e) {
+                throw new IllegalStateException("coalesced search was cancelled", e);
+            }
+        }
+    }
+
+    private static class Key {
+        private final String method;
+        private final List<Object> args;
+
+        private Key(String method, List<Object> args) {
+            this.method = method;
+            this.args = args;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return method.equals(key.method) && args.equals(key.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(method, args);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.give928.querydsl.repository.support;
+
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 엔티티(테이블)별 변경 버전
+ * 엔티티 이벤트와 벌크 연산 이벤트마다 올라가며, 값이 같으면 그 사이 해당 테이블이 변경되지 않은 것이다.
+ * 애플리케이션을 다시 시작하면 0 부터 시작하므로 ETag 등에는 epoch 와 함께 사용한다.
+ */
+@Component
+public class TableVersion {
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Class<?>, Version> versions = new ConcurrentHashMap<>();
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * @return entityTypes 버전의 합 (어느 한 테이블이라도 변경되면 커진다)
+     */
+    public long current(Class<?>... entityTypes) {
+        long sum = 0;
+        for (Class<?> entityType : entityTypes) {
+            Version version = versions.get(entityType);
+            sum += version != null ? version.value.get() : 0;
+        }
+        return sum;
+    }
+
+    /**
+     * flush 시점에 바로 올리고, 커밋/롤백 이후에도 한 번 더 올린다.
+     * 커밋 전에 다른 요청이 이전 데이터와 새 버전으로 ETag 를 만들어도 커밋 후에는 다시 달라지도록 하기 위함이다.
+     * 커밋 이후 동기화는 엔티티 타입별 인스턴스를 등록하므로 트랜잭션당 타입별로 한 번만 실행된다.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        Version version = versions.computeIfAbsent(event.getEntityType(), entityType -> new Version());
+        version.value.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(version);
+        }
+    }
+
+    private static class Version implements TransactionSynchronization {
+        private final AtomicLong value = new AtomicLong();
+
+        @Override
+        public void afterCompletion(int status) {
+            value.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.give928.querydsl.repository.support;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+
+/**
+ * teamName 검색 조건
+ * predicate 가 team 별칭을 참조하는 경우에만 joinRequired 가 true 이고, 이때만 leftJoin(member.team, team) 을 추가한다.
+ */
+public class TeamNameFilter {
+    private static final TeamNameFilter NONE = new TeamNameFilter(null, false);
+
+    private final BooleanExpression predicate;
+    private final boolean joinRequired;
+
+    private TeamNameFilter(BooleanExpression predicate, boolean joinRequired) {
+        this.predicate = predicate;
+        this.joinRequired = joinRequired;
+    }
+
+    public static TeamNameFilter none() {
+        return NONE;
+    }
+
+    public static TeamNameFilter byTeamId(BooleanExpression predicate) {
+        return new TeamNameFilter(predicate, false);
+    }
+
+    public static TeamNameFilter byJoin(BooleanExpression predicate) {
+        return new TeamNameFilter(predicate, true);
+    }
+
+    public BooleanExpression getPredicate() {
+        return predicate;
+    }
+
+    public boolean isJoinRequired() {
+        return joinRequired;
+    }
+}
@@ -0,0 +1,40 @@
+package com.give928.querydsl.repository.support;
+
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.repository.TeamJpaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import static com.give928.querydsl.entity.QMember.member;
+import static com.give928.querydsl.entity.QTeam.team;
+
+/**
+ * teamName 조건을 team_id 조건으로 바꿔서 team 조인 없이 member 테이블만으로 필터링한다.
+ * 팀 이름 -> id 는 자연 키 캐시로 조회하므로 보통 DB 를 조회하지 않는다.
+ * 팀을 찾을 수 없거나 resolve-team-id 를 끄면 기존처럼 team 조인 후 team.name 으로 비교한다.
+ */
+@Component
+public class TeamNameFilterResolver {
+    private final TeamJpaRepository teamJpaRepository;
+    private final boolean resolveTeamId;
+
+    public TeamNameFilterResolver(TeamJpaRepository teamJpaRepository,
+                                  @Value("${querydsl.search.resolve-team-id:true}") boolean resolveTeamId) {
+        this.teamJpaRepository = teamJpaRepository;
+        this.resolveTeamId = resolveTeamId;
+    }
+
+    public TeamNameFilter resolve(String teamName) {
+        if (!StringUtils.hasText(teamName)) {
+            return TeamNameFilter.none();
+        }
+        if (resolveTeamId) {
+            Long teamId = teamJpaRepository.findByName(teamName).map(Team::getId).orElse(null);
+            if (teamId != null) {
+                return TeamNameFilter.byTeamId(member.team.id.eq(teamId));
+            }
+        }
+        return TeamNameFilter.byJoin(team.name.eq(teamName));
+    }
+}
@@ -0,0 +1,17 @@
+package com.give928.querydsl.repository.support;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionSupport {
+    private TransactionSupport() {
+    }
+
+    /**
+     * 현재 스레드에 트랜잭션이 없거나 읽기 전용 트랜잭션인지 여부
+     * true 이면 현재 스레드에 아직 커밋되지 않은 변경이 없으므로 다른 커넥션이나 캐시에서 읽어도 결과가 같다.
+     */
+    public static boolean isReadOnlyOrNone() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
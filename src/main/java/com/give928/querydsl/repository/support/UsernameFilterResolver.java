@@ -0,0 +1,78 @@
+package com.give928.querydsl.repository.support;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.UsernameMatch;
+import com.give928.querydsl.repository.readmodel.UsernameTrigramIndex;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.give928.querydsl.entity.QMember.member;
+
+/**
+ * username 검색 조건 (MemberSearchCondition.usernameMatch)
+ * - EXACT: username = ?
+ * - PREFIX: username >= prefix and username < prefixUpperBound, idx_member_username 범위 조회
+ * - CONTAINS: 트라이그램 인덱스 후보가 있으면 member_id in (후보) and username like %?%, 없으면 like 만 사용(전체 조회)
+ *   후보 수는 max-candidates 이하로 제한하고, in 파라미터 수는 hibernate.query.in_clause_parameter_padding 으로
+ *   2의 거듭제곱으로 맞춰서 후보 수마다 쿼리 계획이 새로 만들어지지 않게 한다.
+ * 후보는 호출할 때마다 다시 구하므로 content/count 쿼리는 resolve 결과 하나를 함께 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UsernameFilterResolver {
+    private final UsernameTrigramIndex usernameTrigramIndex;
+
+    public BooleanExpression resolve(MemberSearchCondition condition) {
+        String username = condition.getUsername();
+        if (!StringUtils.hasText(username)) {
+            return null;
+        }
+        UsernameMatch match = condition.isExactUsername() ? UsernameMatch.EXACT : condition.getUsernameMatch();
+        switch (match) {
+            case PREFIX:
+                String upperBound = prefixUpperBound(username);
+                return upperBound != null
+                        ? member.username.goe(username).and(member.username.lt(upperBound))
+                        : member.username.startsWith(username);
+            case CONTAINS:
+                return contains(username);
+            default:
+                return member.username.eq(username);
+        }
+    }
+
+    /**
+     * prefix 로 시작하는 모든 문자열보다 큰 가장 작은 문자열 (마지막 글자를 하나 올린다)
+     * 모든 글자가 Character.MAX_VALUE 라서 올릴 수 없으면 null
+     */
+    public static String prefixUpperBound(String prefix) {
+        int last = prefix.length() - 1;
+        while (last >= 0 && prefix.charAt(last) == Character.MAX_VALUE) {
+            last--;
+        }
+        if (last < 0) {
+            return null;
+        }
+        return prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+    }
+
+    private BooleanExpression contains(String keyword) {
+        Optional<long[]> candidates = usernameTrigramIndex.candidates(keyword);
+        if (candidates.isEmpty()) {
+            return member.username.contains(keyword);
+        }
+        long[] ids = candidates.get();
+        if (ids.length == 0) {
+            // 후보가 없으면 결과도 없다. (member_id 는 null 이 아니다)
+            return member.id.isNull();
+        }
+        return member.id.in(Arrays.stream(ids).boxed().collect(Collectors.toList()))
+                .and(member.username.contains(keyword));
+    }
+}
@@ -0,0 +1,116 @@
+package com.give928.querydsl.util;
+
+import java.util.Arrays;
+
+/**
+ * long 키 → int 값 오픈 어드레싱(선형 탐사) 해시 맵 (boxing 없음)
+ * 삭제는 뒤따르는 항목을 당겨 채우는 방식(backward shift)이라 tombstone 이 남지 않는다.
+ * Long.MIN_VALUE 는 빈 칸 표시로 쓰므로 키로 사용할 수 없고, 없는 키는 -1 을 반환한다.
+ * 동기화하지 않으므로 사용하는 쪽에서 잠근다.
+ */
+public class LongIntHashMap {
+    public static final int MISSING = -1;
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public LongIntHashMap(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(long key) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            long current = keys[i];
+            if (current == key) {
+                return values[i];
+            }
+            if (current == FREE) {
+                return MISSING;
+            }
+        }
+    }
+
+    public void put(long key, int value) {
+        if ((size + 1) * 4L > keys.length * 3L) {
+            rehash(keys.length << 1);
+        }
+        int i = index(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    public int remove(long key) {
+        int gap = index(key);
+        while (keys[gap] != key) {
+            if (keys[gap] == FREE) {
+                return MISSING;
+            }
+            gap = (gap + 1) & mask;
+        }
+        int removed = values[gap];
+        for (int i = (gap + 1) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+            int home = index(keys[i]);
+            boolean reachable = gap <= i ? gap < home && home <= i : gap < home || home <= i;
+            if (!reachable) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = FREE;
+        size--;
+        return removed;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, FREE);
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSize(int expectedSize) {
+        int capacity = 16;
+        while (capacity * 3L < expectedSize * 4L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -5,6 +5,8 @@ import com.give928.querydsl.dto.QMemberDto;
 import com.give928.querydsl.entity.Member;
 import com.give928.querydsl.entity.QMember;
 import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.support.SqlStatementCountExtension;
+import com.give928.querydsl.support.SqlStatementCounter;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.QueryResults;
 import com.querydsl.core.Tuple;
@@ -20,6 +22,7 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
@@ -40,6 +43,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 @Transactional
+@ExtendWith(SqlStatementCountExtension.class)
 class QuerydslBasicTest {
     @Autowired
     EntityManager em;
@@ -471,6 +475,31 @@ class QuerydslBasicTest {
         assertThat(loaded).as("페치 조인 적용").isTrue();
     }
 
+    @Test
+    @DisplayName("페치 조인 미적용 시 팀 조회 SQL 이 추가로 실행된다. (default_batch_fetch_size 로 팀 프록시는 in 쿼리 한 번)")
+    void fetchJoinStatementCount() {
+        // given
+        em.flush();
+        em.clear();
+        emf.getCache().evict(Team.class);
+
+        // when
+        int lazy = SqlStatementCounter.countStatements(() -> queryFactory
+                .selectFrom(member)
+                .fetch()
+                .forEach(findMember -> findMember.getTeam().getName()));
+        em.clear();
+        int fetchJoin = SqlStatementCounter.countStatements(() -> queryFactory
+                .selectFrom(member)
+                .innerJoin(member.team, team).fetchJoin()
+                .fetch()
+                .forEach(findMember -> findMember.getTeam().getName()));
+
+        // then
+        assertThat(lazy).as("member 1 + team 1 (batch fetch)").isEqualTo(2);
+        assertThat(fetchJoin).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("서브 쿼리")
     void subQuery() {
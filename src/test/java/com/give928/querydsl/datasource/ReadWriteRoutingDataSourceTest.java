@@ -0,0 +1,64 @@
+package com.give928.querydsl.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica, 그 외에는 primary 로 보낸다.")
+    void route() {
+        // given
+        DataSource dataSource = routingDataSource(new ReplicaLagGuard(Duration.ZERO));
+
+        // when
+        String readOnly = transaction(dataSource, true).execute(status -> database(dataSource));
+        String readWrite = transaction(dataSource, false).execute(status -> database(dataSource));
+        String noTransaction = database(dataSource);
+
+        // then
+        assertThat(readOnly).isEqualToIgnoringCase("replica");
+        assertThat(readWrite).isEqualToIgnoringCase("primary");
+        assertThat(noTransaction).isEqualToIgnoringCase("primary");
+    }
+
+    @Test
+    @DisplayName("쓰기 직후 복제 지연 허용 범위 안에서는 읽기 전용 트랜잭션도 primary 로 보낸다.")
+    void replicaBehind() {
+        // given
+        ReplicaLagGuard replicaLagGuard = new ReplicaLagGuard(Duration.ofMinutes(1));
+        DataSource dataSource = routingDataSource(replicaLagGuard);
+
+        // when
+        replicaLagGuard.markWritten();
+        String readOnly = transaction(dataSource, true).execute(status -> database(dataSource));
+
+        // then
+        assertThat(readOnly).isEqualToIgnoringCase("primary");
+    }
+
+    private DataSource routingDataSource(ReplicaLagGuard replicaLagGuard) {
+        DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", "");
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, replicaLagGuard));
+    }
+
+    private TransactionTemplate transaction(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+
+    private String database(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("select database()", String.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.give928.querydsl.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberCompactPageTest {
+    @Test
+    @DisplayName("팀은 사전으로 한 번만 보내고, 회원은 사전 인덱스로 팀을 참조한다.")
+    void of() {
+        // given
+        List<MemberTeamDto> content = List.of(new MemberTeamDto(1L, "member1", 10, 100L, "teamA"),
+                                              new MemberTeamDto(2L, "member2", 20, 200L, "teamB"),
+                                              new MemberTeamDto(3L, "member3", 30, 100L, "teamA"),
+                                              new MemberTeamDto(4L, "member4", 40, null, null));
+
+        // when
+        MemberCompactPage page = MemberCompactPage.of(new PageImpl<>(content, PageRequest.of(0, 4), 10));
+
+        // then
+        assertThat(page.getTeamIds()).containsExactly(100L, 200L);
+        assertThat(page.getTeamNames()).containsExactly("teamA", "teamB");
+        assertThat(page.getMemberIds()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(page.getAges()).containsExactly(10, 20, 30, 40);
+        assertThat(page.getTeams()).containsExactly(0, 1, 0, MemberCompactPage.NO_TEAM);
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,52 @@
+package com.give928.querydsl.monitoring;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.repository.MemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsAspectTest {
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("리포지토리 메서드 실행 시간을 메서드와 조건 모양 태그로 기록한다.")
+    void latencyTaggedByMethodAndShape() {
+        // given
+        MemberSearchCondition condition = MemberSearchCondition.builder()
+                .teamName("teamA")
+                .ageGoe(10)
+                .build();
+
+        // when
+        memberRepository.search(condition);
+
+        // then
+        Timer timer = meterRegistry.find("member.repository.latency")
+                .tag("method", "MemberRepositoryCustom.search")
+                .tag("shape", "teamName+ageGoe")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("조건 모양 이름")
+    void shapeName() {
+        assertThat(RepositoryMetricsAspect.shapeName(0)).isEqualTo("none");
+        assertThat(RepositoryMetricsAspect.shapeName(MemberSearchCondition.USERNAME | MemberSearchCondition.AGE_LOE))
+                .isEqualTo("username+ageLoe");
+    }
+}
@@ -0,0 +1,25 @@
+package com.give928.querydsl.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryLogTest {
+    @Test
+    @DisplayName("capacity 를 넘으면 가장 오래된 느린 쿼리부터 버린다.")
+    void ring() {
+        // given
+        SlowQueryLog slowQueryLog = new SlowQueryLog(2);
+
+        // when
+        slowQueryLog.add(new SlowQuery(Instant.now(), 100, "select 1", "select 1", null));
+        slowQueryLog.add(new SlowQuery(Instant.now(), 200, "select 2", "select 2", null));
+        slowQueryLog.add(new SlowQuery(Instant.now(), 300, "select 3", "select 3", "MemberJpaRepository.search"));
+
+        // then
+        assertThat(slowQueryLog.findAll()).extracting("sql").containsExactly("select 3", "select 2");
+    }
+}
@@ -0,0 +1,103 @@
+package com.give928.querydsl.repository;
+
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.repository.support.BulkProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 청크마다 별도 트랜잭션으로 커밋하므로 테스트 트랜잭션(롤백) 없이 실행하고 직접 정리한다.
+ * 다른 테스트와 애플리케이션 컨텍스트를 공유하도록 청크 크기는 프로퍼티 대신 필드로 바꾸고 되돌린다.
+ */
+@SpringBootTest
+class MemberJpaRepositoryBulkTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    TransactionTemplate transaction;
+    Long teamId;
+    List<Long> memberIds = new ArrayList<>();
+    Object bulkChunkSize;
+
+    @BeforeEach
+    void setUp() {
+        bulkChunkSize = ReflectionTestUtils.getField(memberJpaRepository, "bulkChunkSize");
+        ReflectionTestUtils.setField(memberJpaRepository, "bulkChunkSize", 2);
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Team team = Team.builder().name("bulkTeam").build();
+            em.persist(team);
+            teamId = team.getId();
+            for (int i = 0; i < 5; i++) {
+                Member member = Member.builder().username("bulk" + i).age(i * 10).team(team).build();
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(memberJpaRepository, "bulkChunkSize", bulkChunkSize);
+        transaction.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.id in :ids").setParameter("ids", memberIds).executeUpdate();
+            em.createQuery("delete from Team t where t.id = :id").setParameter("id", teamId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("청크 단위 벌크 수정 - 진행 상황을 알리고, 영속성 컨텍스트의 회원은 다시 조회한다.")
+    void bulkAddAge() {
+        List<BulkProgress> progresses = new ArrayList<>();
+
+        transaction.executeWithoutResult(status -> {
+            // given
+            Member loaded = em.find(Member.class, memberIds.get(0));
+
+            // when
+            long count = memberJpaRepository.bulkAddAge(25, 1, progresses::add);
+
+            // then
+            assertThat(count).isEqualTo(3);
+            assertThat(em.contains(loaded)).isFalse();
+            assertThat(em.find(Member.class, memberIds.get(0)).getAge()).isEqualTo(1);
+        });
+        assertThat(progresses).hasSize(2);
+        assertThat(progresses).extracting(BulkProgress::getAffectedRows).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("청크 단위 벌크 삭제")
+    void bulkDeleteByTeamId() {
+        // given
+        List<BulkProgress> progresses = new ArrayList<>();
+
+        // when
+        long count = memberJpaRepository.bulkDeleteByTeamId(teamId, progresses::add);
+
+        // then
+        assertThat(count).isEqualTo(5);
+        assertThat(progresses).hasSize(3);
+        assertThat(progresses.get(progresses.size() - 1).getProcessedId()).isEqualTo(memberIds.get(4));
+    }
+}
@@ -1,5 +1,6 @@
 package com.give928.querydsl.repository;
 
+import com.give928.querydsl.dto.MemberColumns;
 import com.give928.querydsl.dto.MemberSearchCondition;
 import com.give928.querydsl.dto.MemberTeamDto;
 import com.give928.querydsl.entity.Member;
@@ -11,7 +12,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -151,4 +154,79 @@ class MemberJpaRepositoryTest {
         // then
         assertThat(result).extracting("username").containsExactly("member2");
     }
+
+    @Test
+    @DisplayName("대용량 내보내기 - 결과를 List 로 모으지 않고 한 건씩 전달")
+    void export() {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+
+        Member member1 = Member.builder().username("member1").age(10).team(teamA).build();
+        Member member2 = Member.builder().username("member2").age(20).team(teamA).build();
+        Member member3 = Member.builder().username("member3").age(30).team(teamB).build();
+        Member member4 = Member.builder().username("member4").age(40).team(teamB).build();
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+
+        MemberSearchCondition condition = MemberSearchCondition.builder()
+                .ageGoe(20)
+                .build();
+        List<MemberTeamDto> exported = new ArrayList<>();
+
+        // when
+        long count = memberJpaRepository.export(condition, exported::add);
+
+        // then
+        assertThat(count).isEqualTo(3L);
+        assertThat(exported).extracting("username").containsExactly("member2", "member3", "member4");
+    }
+
+    @Test
+    @DisplayName("대량 저장 - chunk 단위로 flush, clear")
+    void saveAll() {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        em.persist(teamA);
+
+        // when
+        long count = memberJpaRepository.saveAll(IntStream.rangeClosed(1, 2500).mapToObj(i -> {
+            Member member = Member.builder().username("member" + i).age(i % 100).build();
+            member.setTeam(teamA);
+            return member;
+        }));
+
+        // then
+        assertThat(count).isEqualTo(2500L);
+        assertThat(em.contains(teamA)).isFalse();
+        assertThat(memberJpaRepository.findAll()).hasSize(2500);
+    }
+
+    @Test
+    @DisplayName("컬럼형 조회 - 팀은 사전 인덱스로 채운다.")
+    void findColumns() {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(Member.builder().username("member1").age(10).team(teamA).build());
+        em.persist(Member.builder().username("member2").age(20).team(teamB).build());
+        em.persist(Member.builder().username("member3").age(30).team(teamA).build());
+        em.persist(Member.builder().username("member4").age(40).build());
+
+        // when
+        MemberColumns columns = memberJpaRepository.findColumns(MemberSearchCondition.builder().ageGoe(10).build());
+
+        // then
+        assertThat(columns.size()).isEqualTo(4);
+        assertThat(columns.getAges()).containsExactly(10, 20, 30, 40);
+        assertThat(columns.getTeamIds()).containsExactly(teamA.getId(), teamB.getId());
+        assertThat(columns.getTeamCodes()).containsExactly(0, 1, 0, MemberColumns.NO_TEAM);
+        assertThat(columns.ageSumByTeamCode()).containsExactly(40L, 20L);
+    }
 }
@@ -2,15 +2,20 @@ package com.give928.querydsl.repository;
 
 import com.give928.querydsl.dto.MemberSearchCondition;
 import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.dto.UsernameMatch;
 import com.give928.querydsl.entity.Member;
 import com.give928.querydsl.entity.QMember;
 import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.support.SqlStatementCountExtension;
+import com.give928.querydsl.support.SqlStatementCounter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +26,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 @Transactional
+@ExtendWith(SqlStatementCountExtension.class)
 class MemberRepositoryTest {
     @Autowired
     EntityManager em;
@@ -172,6 +178,54 @@ class MemberRepositoryTest {
         assertThat(page.getContent()).extracting("username").containsExactly("member4");
     }
 
+    @Test
+    @DisplayName("username 시작/포함 검색")
+    void searchByUsernameMatch() {
+        // given
+        em.persist(Member.builder().username("alice").age(10).build());
+        em.persist(Member.builder().username("alicia").age(20).build());
+        em.persist(Member.builder().username("malice").age(30).build());
+        em.persist(Member.builder().username("bob").age(40).build());
+
+        MemberSearchCondition prefix = MemberSearchCondition.builder()
+                .username("ali").usernameMatch(UsernameMatch.PREFIX).build();
+        MemberSearchCondition contains = MemberSearchCondition.builder()
+                .username("lic").usernameMatch(UsernameMatch.CONTAINS).build();
+
+        // when
+        List<MemberTeamDto> prefixResult = memberRepository.search(prefix);
+        Page<MemberTeamDto> containsResult = memberRepository.searchPageComplex(contains, PageRequest.of(0, 10));
+
+        // then
+        assertThat(prefixResult).extracting("username").containsExactly("alice", "alicia");
+        assertThat(containsResult.getContent()).extracting("username").containsExactly("alice", "alicia", "malice");
+        assertThat(containsResult.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("복잡한 페이징은 데이터 조회 쿼리와 카운트 쿼리, SQL 2개 이하로 조회한다.")
+    void searchPageComplexStatementCount() {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        em.persist(teamA);
+        for (int i = 0; i < 10; i++) {
+            em.persist(Member.builder().username("member" + i).age(i).team(teamA).build());
+        }
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = MemberSearchCondition.builder().build();
+        PageRequest pageRequest = PageRequest.of(0, 5);
+
+        // when
+        Page<MemberTeamDto> page = SqlStatementCounter.assertMaxStatements(
+                2, () -> memberRepository.searchPageComplex(condition, pageRequest));
+
+        // then
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(10);
+    }
+
     @Test
     @DisplayName("스프링 데이터 JPA가 제공하는 Querydsl 기능 - QuerydslPredicateExecutor")
     void querydslPredicateExecutor() {
@@ -234,4 +288,36 @@ class MemberRepositoryTest {
         assertThat(page.getNumberOfElements()).isEqualTo(3);
         assertThat(page.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
     }
+
+    @Test
+    @DisplayName("커서 페이징, 마지막 member_id 이후부터 조회")
+    void searchAfter() {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+
+        Member member1 = Member.builder().username("member1").age(10).team(teamA).build();
+        Member member2 = Member.builder().username("member2").age(20).team(teamA).build();
+        Member member3 = Member.builder().username("member3").age(30).team(teamB).build();
+        Member member4 = Member.builder().username("member4").age(40).team(teamB).build();
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+
+        MemberSearchCondition condition = MemberSearchCondition.builder().build();
+
+        // when
+        Slice<MemberTeamDto> first = memberRepository.searchAfter(condition, null, 3);
+        Long lastMemberId = first.getContent().get(first.getNumberOfElements() - 1).getMemberId();
+        Slice<MemberTeamDto> second = memberRepository.searchAfter(condition, lastMemberId, 3);
+
+        // then
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.getContent()).extracting("username").containsExactly("member4");
+    }
 }
@@ -0,0 +1,70 @@
+package com.give928.querydsl.repository;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberSearchQueryRegistryTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberSearchQueryRegistry memberSearchQueryRegistry;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @BeforeEach
+    void setUp() {
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+
+        Member member1 = Member.builder().username("member1").age(10).team(teamA).build();
+        Member member2 = Member.builder().username("member2").age(20).team(teamA).build();
+        Member member3 = Member.builder().username("member3").age(30).team(teamB).build();
+        Member member4 = Member.builder().username("member4").age(40).team(teamB).build();
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+    }
+
+    @Test
+    @DisplayName("모든 조건 모양에서 Querydsl 로 작성한 search 와 같은 결과를 반환한다.")
+    void sameResultForEveryShape() {
+        for (int shape = 0; shape < MemberSearchCondition.SHAPE_COUNT; shape++) {
+            // given
+            MemberSearchCondition condition = MemberSearchCondition.builder()
+                    .username((shape & MemberSearchCondition.USERNAME) != 0 ? "member3" : null)
+                    .teamName((shape & MemberSearchCondition.TEAM_NAME) != 0 ? "teamB" : null)
+                    .ageGoe((shape & MemberSearchCondition.AGE_GOE) != 0 ? 20 : null)
+                    .ageLoe((shape & MemberSearchCondition.AGE_LOE) != 0 ? 30 : null)
+                    .build();
+
+            // when
+            List<MemberTeamDto> result = memberSearchQueryRegistry.search(condition);
+            List<MemberTeamDto> expected = memberJpaRepository.search(condition);
+
+            // then
+            assertThat(condition.shape()).isEqualTo(shape);
+            assertThat(result).usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+}
@@ -90,4 +90,21 @@ class MemberSupportRepositoryTest {
         assertThat(page.getNumberOfElements()).isEqualTo(3);
         assertThat(page.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
     }
+
+    @Test
+    @DisplayName("Querydsl 지원 클래스 applyPagination - 팀 이름 조건을 team_id 로 바꿔서 조회")
+    void applyPaginationByTeamName() {
+        // given
+        MemberSearchCondition condition = MemberSearchCondition.builder()
+                .teamName("teamB")
+                .build();
+        PageRequest pageRequest = PageRequest.of(0, 1);
+
+        // when
+        Page<Member> page = memberSupportRepository.applyPagination(condition, pageRequest);
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting("username").containsExactly("member3");
+    }
 }
@@ -0,0 +1,97 @@
+package com.give928.querydsl.repository;
+
+import com.give928.querydsl.dto.TeamMembersDto;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.support.SqlStatementCounter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TeamJpaRepositoryTest {
+    @Autowired
+    EntityManager em;
+
+    @PersistenceUnit
+    EntityManagerFactory emf;
+
+    @Autowired
+    TeamJpaRepository teamJpaRepository;
+
+    @Test
+    @DisplayName("2차 캐시 - 한 번 조회한 팀은 DB 를 다시 조회하지 않는다.")
+    void secondLevelCache() {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        teamJpaRepository.save(teamA);
+        em.flush();
+        em.clear();
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        teamJpaRepository.findById(teamA.getId());
+        em.clear();
+        long hitCount = statistics.getSecondLevelCacheHitCount();
+
+        // when
+        Team findTeam = teamJpaRepository.findById(teamA.getId()).orElseThrow(IllegalStateException::new);
+
+        // then
+        assertThat(findTeam.getName()).isEqualTo("teamA");
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hitCount + 1);
+    }
+
+    @Test
+    @DisplayName("자연 키(name)로 조회")
+    void findByName() {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        teamJpaRepository.save(teamA);
+        teamJpaRepository.save(teamB);
+        em.flush();
+        em.clear();
+
+        // when
+        Team findTeam = teamJpaRepository.findByName("teamB").orElseThrow(IllegalStateException::new);
+
+        // then
+        assertThat(findTeam.getId()).isEqualTo(teamB.getId());
+        assertThat(teamJpaRepository.findByName("teamC")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("팀 목록과 소속 회원은 팀 수와 상관없이 SQL 2개로 조회한다.")
+    void findAllWithMembers() {
+        // given
+        for (int i = 0; i < 10; i++) {
+            Team team = Team.builder().name("team" + i).build();
+            teamJpaRepository.save(team);
+            em.persist(Member.builder().username("member" + i + "-1").age(i).team(team).build());
+            em.persist(Member.builder().username("member" + i + "-2").age(i).team(team).build());
+        }
+        em.flush();
+        em.clear();
+
+        // when
+        List<TeamMembersDto> result = SqlStatementCounter.assertMaxStatements(
+                2, () -> teamJpaRepository.findAllWithMembers(PageRequest.of(0, 20)));
+
+        // then
+        assertThat(result).hasSize(10);
+        assertThat(result).allSatisfy(team -> assertThat(team.getMembers()).hasSize(2));
+    }
+}
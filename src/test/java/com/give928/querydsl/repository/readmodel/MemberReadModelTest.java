@@ -0,0 +1,153 @@
+package com.give928.querydsl.repository.readmodel;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import com.give928.querydsl.repository.MemberRepository;
+import com.give928.querydsl.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 읽기 모델은 커밋된 변경만 반영하므로 테스트 트랜잭션(롤백) 없이 실행하고 직접 정리한다.
+ * 다른 테스트와 애플리케이션 컨텍스트를 공유하도록 프로퍼티 대신 필드로 켜고, 끝나면 끄고 다시 읽도록 되돌린다.
+ */
+@SpringBootTest
+class MemberReadModelTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberReadModel memberReadModel;
+
+    TransactionTemplate transaction;
+    Long teamId;
+    List<Long> memberIds = new ArrayList<>();
+    MemberSearchCondition condition = MemberSearchCondition.builder().teamName("readModelTeam").build();
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Team team = Team.builder().name("readModelTeam").build();
+            em.persist(team);
+            teamId = team.getId();
+            for (int i = 0; i < 3; i++) {
+                Member member = Member.builder().username("readModel" + i).age(10 + i * 10).team(team).build();
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+        ReflectionTestUtils.setField(memberReadModel, "enabled", true);
+        memberReadModel.warmUp();
+        awaitLoaded();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(memberReadModel, "enabled", false);
+        ReflectionTestUtils.setField(memberReadModel, "loaded", false);
+        transaction.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.id in :ids").setParameter("ids", memberIds).executeUpdate();
+            em.createQuery("delete from Team t where t.id = :id").setParameter("id", teamId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("읽기 모델 - 한 번 읽은 뒤에는 DB 를 조회하지 않고, 커밋된 변경을 반영한다.")
+    void search() {
+        // given
+        memberRepository.search(condition);
+        transaction.executeWithoutResult(status -> {
+            em.find(Member.class, memberIds.get(0)).update("readModelUpdated", 50);
+            em.remove(em.find(Member.class, memberIds.get(1)));
+        });
+        int before = SqlStatementCounter.total();
+
+        // when
+        List<MemberTeamDto> result = memberRepository.search(condition);
+        Page<MemberTeamDto> page = memberRepository.searchPageComplex(
+                MemberSearchCondition.builder().teamName("readModelTeam").ageGoe(40).build(), PageRequest.of(0, 10));
+
+        // then
+        assertThat(SqlStatementCounter.total()).isEqualTo(before);
+        assertThat(result).extracting("username").containsExactly("readModelUpdated", "readModel2");
+        assertThat(page.getContent()).extracting("age").containsExactly(50);
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("읽기 모델 - 벌크 연산 이후에는 다시 읽는 동안 DB 에서 조회하고, 다 읽으면 읽기 모델로 조회한다.")
+    void reloadAfterBulk() throws InterruptedException {
+        // given
+        transaction.executeWithoutResult(status -> em
+                .createQuery("update Member m set m.age = m.age + 1 where m.id in :ids")
+                .setParameter("ids", memberIds)
+                .executeUpdate());
+
+        // when
+        List<MemberTeamDto> whileLoading = memberRepository.search(condition);
+        awaitLoaded();
+        int before = SqlStatementCounter.total();
+        Page<MemberTeamDto> page = memberRepository.searchPageComplex(condition, PageRequest.of(1, 2));
+
+        // then
+        assertThat(whileLoading).extracting("age").containsExactly(11, 21, 31);
+        assertThat(SqlStatementCounter.total()).isEqualTo(before);
+        assertThat(page.getContent()).extracting("age").containsExactly(31);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("읽기 모델 - 한 트랜잭션에서 여러 번 변경되어도 동기화는 하나만 등록한다.")
+    void synchronizationPerTransaction() {
+        // given
+        Team team = transaction.execute(status -> em.find(Team.class, teamId));
+        Map<String, Object> state = Map.of("username", "readModel0", "age", 10, "team", team);
+
+        // when
+        int added = transaction.execute(status -> {
+            int before = TransactionSynchronizationManager.getSynchronizations().size();
+            for (int i = 0; i < 3; i++) {
+                memberReadModel.onEntityChanged(new EntityChangedEvent(EntityChangedEvent.Type.UPDATE, Member.class,
+                                                                       memberIds.get(0), state, state));
+            }
+            return TransactionSynchronizationManager.getSynchronizations().size() - before;
+        });
+
+        // then
+        assertThat(added).isEqualTo(1);
+    }
+
+    private void awaitLoaded() throws InterruptedException {
+        for (int i = 0; i < 500 && !memberReadModel.isLoaded(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(memberReadModel.isLoaded()).isTrue();
+    }
+}
@@ -0,0 +1,156 @@
+package com.give928.querydsl.repository.readmodel;
+
+import com.give928.querydsl.dto.TeamStatsDto;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 통계는 커밋된 변경만 반영하므로 테스트 트랜잭션(롤백) 없이 실행하고 직접 정리한다.
+ */
+@SpringBootTest
+class TeamStatsModelTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TeamStatsModel teamStatsModel;
+
+    TransactionTemplate transaction;
+    List<Long> teamIds = new ArrayList<>();
+    List<Long> memberIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Team teamA = Team.builder().name("statsTeamA").build();
+            Team teamB = Team.builder().name("statsTeamB").build();
+            em.persist(teamA);
+            em.persist(teamB);
+            teamIds.add(teamA.getId());
+            teamIds.add(teamB.getId());
+            persistMember("stats1", 10, teamA);
+            persistMember("stats2", 20, teamA);
+            persistMember("stats3", 30, teamB);
+            persistMember("stats4", 40, teamB);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.id in :ids").setParameter("ids", memberIds).executeUpdate();
+            em.createQuery("delete from Team t where t.id in :ids").setParameter("ids", teamIds).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("팀별 통계 - 회원 수정, 팀 변경, 삭제를 증분 반영한다.")
+    void incremental() throws InterruptedException {
+        // given
+        awaitLoaded();
+
+        // when
+        transaction.executeWithoutResult(status -> {
+            em.find(Member.class, memberIds.get(0)).update("stats1", 15);
+            em.find(Member.class, memberIds.get(3)).changeTeam(em.find(Team.class, teamIds.get(0)));
+            em.remove(em.find(Member.class, memberIds.get(2)));
+        });
+        Map<String, TeamStatsDto> stats = teamStatsModel.findAll().stream()
+                .collect(Collectors.toMap(TeamStatsDto::getTeamName, Function.identity()));
+
+        // then
+        TeamStatsDto teamA = stats.get("statsTeamA");
+        assertThat(teamA.getCount()).isEqualTo(3);
+        assertThat(teamA.getAgeSum()).isEqualTo(75);
+        assertThat(teamA.getAgeAvg()).isEqualTo(25);
+        assertThat(teamA.getAgeMin()).isEqualTo(15);
+        assertThat(teamA.getAgeMax()).isEqualTo(40);
+        assertThat(stats).doesNotContainKey("statsTeamB");
+    }
+
+    @Test
+    @DisplayName("팀별 통계 - 다시 읽은 뒤 도착한 이미 반영된 커밋의 이벤트는 두 번 반영하지 않는다.")
+    void lateEventAfterLoad() throws InterruptedException {
+        // given
+        awaitLoaded();
+        Team teamA = transaction.execute(status -> em.find(Team.class, teamIds.get(0)));
+        Map<String, Object> state = Map.of("username", "stats1", "age", 10, "team", teamA);
+
+        // when
+        teamStatsModel.onEntityChanged(new EntityChangedEvent(EntityChangedEvent.Type.INSERT, Member.class,
+                                                              memberIds.get(0), state, null));
+        TeamStatsDto stats = teamStatsModel.findAll().stream()
+                .filter(dto -> dto.getTeamName().equals("statsTeamA"))
+                .findFirst()
+                .orElseThrow();
+
+        // then
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getAgeSum()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("팀별 통계 - 다시 읽는 동안 커밋된 변경은 이벤트 상태 대신 DB 의 현재 값으로 반영한다.")
+    void staleEventDuringLoad() throws InterruptedException {
+        // given
+        awaitLoaded();
+        Team teamA = transaction.execute(status -> em.find(Team.class, teamIds.get(0)));
+        Map<String, Object> staleState = Map.of("username", "stats1", "age", 99, "team", teamA);
+        ReflectionTestUtils.setField(teamStatsModel, "loaded", false);
+        ReflectionTestUtils.setField(teamStatsModel, "loading", true);
+
+        // when
+        teamStatsModel.onEntityChanged(new EntityChangedEvent(EntityChangedEvent.Type.UPDATE, Member.class,
+                                                              memberIds.get(0), staleState, staleState));
+        ReflectionTestUtils.invokeMethod(teamStatsModel, "loadInBackground");
+        TeamStatsDto stats = teamStatsModel.findAll().stream()
+                .filter(dto -> dto.getTeamName().equals("statsTeamA"))
+                .findFirst()
+                .orElseThrow();
+
+        // then
+        assertThat(teamStatsModel.isLoaded()).isTrue();
+        assertThat(stats.getAgeSum()).isEqualTo(30);
+        assertThat(stats.getAgeMax()).isEqualTo(20);
+    }
+
+    /**
+     * 처음 조회하면 DB 에서 조회하고 별도 스레드에서 읽기 시작한다.
+     */
+    private void awaitLoaded() throws InterruptedException {
+        teamStatsModel.findAll();
+        for (int i = 0; i < 500 && !teamStatsModel.isLoaded(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(teamStatsModel.isLoaded()).isTrue();
+    }
+
+    private void persistMember(String username, int age, Team team) {
+        Member member = Member.builder().username(username).age(age).team(team).build();
+        em.persist(member);
+        memberIds.add(member.getId());
+    }
+}
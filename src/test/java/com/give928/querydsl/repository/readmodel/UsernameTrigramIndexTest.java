@@ -0,0 +1,135 @@
+package com.give928.querydsl.repository.readmodel;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.dto.UsernameMatch;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 트라이그램 인덱스는 커밋된 변경만 반영하므로 테스트 트랜잭션(롤백) 없이 실행하고 직접 정리한다.
+ * 다른 테스트와 애플리케이션 컨텍스트를 공유하도록 프로퍼티 대신 필드로 켜고, 끝나면 끄고 다시 읽도록 되돌린다.
+ */
+@SpringBootTest
+class UsernameTrigramIndexTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    UsernameTrigramIndex usernameTrigramIndex;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    TransactionTemplate transaction;
+    List<Long> memberIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            for (String username : List.of("trigramAlice", "trigramAlicia", "trigramBob")) {
+                Member member = Member.builder().username(username).age(10).build();
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+        ReflectionTestUtils.setField(usernameTrigramIndex, "enabled", true);
+        usernameTrigramIndex.warmUp();
+        for (int i = 0; i < 500 && !usernameTrigramIndex.isLoaded(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(usernameTrigramIndex.isLoaded()).isTrue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(usernameTrigramIndex, "enabled", false);
+        ReflectionTestUtils.setField(usernameTrigramIndex, "loaded", false);
+        transaction.executeWithoutResult(status -> em.createQuery("delete from Member m where m.id in :ids")
+                .setParameter("ids", memberIds)
+                .executeUpdate());
+    }
+
+    @Test
+    @DisplayName("트라이그램 후보 - 커밋된 username 변경을 반영한다.")
+    void candidates() {
+        // given
+        assertThat(usernameTrigramIndex.candidates("ramAlic")).hasValueSatisfying(
+                ids -> assertThat(ids).containsExactly(memberIds.get(0), memberIds.get(1)));
+
+        // when
+        transaction.executeWithoutResult(status -> em.find(Member.class, memberIds.get(2)).update("trigramAlicx", 10));
+
+        // then
+        assertThat(usernameTrigramIndex.candidates("ramAlic")).hasValueSatisfying(
+                ids -> assertThat(ids).containsExactly(memberIds.get(0), memberIds.get(1), memberIds.get(2)));
+        assertThat(usernameTrigramIndex.candidates("ramBob")).hasValueSatisfying(ids -> assertThat(ids).isEmpty());
+        assertThat(usernameTrigramIndex.candidates("ic")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("트라이그램 후보 - 후보가 max-candidates 를 넘거나 가장 짧은 목록이 max-scan 보다 길면 사용하지 않는다.")
+    void candidatesLimit() {
+        // given
+        Object maxCandidates = ReflectionTestUtils.getField(usernameTrigramIndex, "maxCandidates");
+        Object maxScan = ReflectionTestUtils.getField(usernameTrigramIndex, "maxScan");
+
+        try {
+            // when
+            ReflectionTestUtils.setField(usernameTrigramIndex, "maxCandidates", 1);
+            boolean overCandidates = usernameTrigramIndex.candidates("ramAlic").isEmpty();
+            boolean underCandidates = usernameTrigramIndex.candidates("ramBob").isPresent();
+            ReflectionTestUtils.setField(usernameTrigramIndex, "maxCandidates", maxCandidates);
+            ReflectionTestUtils.setField(usernameTrigramIndex, "maxScan", 1);
+            boolean overScan = usernameTrigramIndex.candidates("ramAlic").isEmpty();
+
+            // then
+            assertThat(overCandidates).isTrue();
+            assertThat(underCandidates).isTrue();
+            assertThat(overScan).isTrue();
+        } finally {
+            ReflectionTestUtils.setField(usernameTrigramIndex, "maxCandidates", maxCandidates);
+            ReflectionTestUtils.setField(usernameTrigramIndex, "maxScan", maxScan);
+        }
+    }
+
+    @Test
+    @DisplayName("포함 검색 - 리포지토리 조회가 트라이그램 후보로 content, count 를 조회한다.")
+    void searchThroughRepository() {
+        // given
+        MemberSearchCondition condition = new MemberSearchCondition("ramAlic", null, null, null, UsernameMatch.CONTAINS);
+        MemberSearchCondition noCandidate = new MemberSearchCondition("ramZzz", null, null, null, UsernameMatch.CONTAINS);
+
+        // when
+        List<MemberTeamDto> result = memberRepository.search(condition);
+        Page<MemberTeamDto> page = memberRepository.searchPageComplex(condition, PageRequest.of(0, 1));
+        List<MemberTeamDto> empty = memberRepository.search(noCandidate);
+
+        // then
+        assertThat(result).extracting("username").containsExactly("trigramAlice", "trigramAlicia");
+        assertThat(page.getContent()).extracting("username").containsExactly("trigramAlice");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(empty).isEmpty();
+    }
+}
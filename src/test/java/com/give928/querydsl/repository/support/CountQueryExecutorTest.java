@@ -0,0 +1,141 @@
+package com.give928.querydsl.repository.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CountQueryExecutorTest {
+    CountQueryExecutor countQueryExecutor = new CountQueryExecutor(mock(EntityManager.class),
+                                                                   mock(PlatformTransactionManager.class), true, 2, 2,
+                                                                   Duration.ofMillis(200), 10);
+
+    @AfterEach
+    void tearDown() {
+        countQueryExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("content 쿼리와 count 쿼리를 동시에 실행한다.")
+    void parallel() {
+        // given
+        CountDownLatch countStarted = new CountDownLatch(1);
+
+        // when
+        Page<String> page = countQueryExecutor.getPage(() -> {
+            try {
+                // count 쿼리가 다른 스레드에서 먼저 시작해야 content 조회가 끝난다.
+                assertThat(countStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of("member1", "member2", "member3");
+        }, PageRequest.of(0, 3), () -> {
+            countStarted.countDown();
+            return 4L;
+        });
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(4L);
+        assertThat(page.getContent()).containsExactly("member1", "member2", "member3");
+    }
+
+    @Test
+    @DisplayName("count 가 필요 없는 페이지는 count 결과를 기다리지 않는다.")
+    void countNotNeeded() {
+        // given
+        CountDownLatch neverReleased = new CountDownLatch(1);
+
+        // when
+        Page<String> page = countQueryExecutor.getPage(() -> List.of("member4"), PageRequest.of(1, 3), () -> {
+            try {
+                neverReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return -1L;
+        });
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("timeout 이 지나도 이미 실행 중인 count 는 다시 실행하지 않고 기다린다.")
+    void timeoutWhileRunning() {
+        // given
+        AtomicInteger countQueries = new AtomicInteger();
+
+        // when
+        Page<String> page = countQueryExecutor.getPage(() -> List.of("member1", "member2", "member3"),
+                                                       PageRequest.of(0, 3), () -> {
+            countQueries.incrementAndGet();
+            try {
+                Thread.sleep(400);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 4L;
+        });
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(4L);
+        assertThat(countQueries).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("timeout 안에 시작하지 못한 count 는 큐에서 빼고 호출 스레드에서 한 번만 실행한다.")
+    void timeoutWhileQueued() throws Exception {
+        // given
+        CountQueryExecutor singleThread = new CountQueryExecutor(mock(EntityManager.class),
+                                                                 mock(PlatformTransactionManager.class), true, 1, 2,
+                                                                 Duration.ofMillis(200), 10);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        AtomicInteger countQueries = new AtomicInteger();
+        try {
+            // count 스레드 하나를 점유한다.
+            Future<Page<String>> blocking = caller.submit(() -> singleThread.getPage(
+                    () -> List.of("member1", "member2", "member3"), PageRequest.of(0, 3), () -> {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return 4L;
+                    }));
+
+            // when
+            Page<String> page = singleThread.getPage(() -> List.of("member1", "member2", "member3"),
+                                                     PageRequest.of(0, 3), () -> {
+                countQueries.incrementAndGet();
+                return 4L;
+            });
+            release.countDown();
+
+            // then
+            assertThat(page.getTotalElements()).isEqualTo(4L);
+            assertThat(blocking.get(5, TimeUnit.SECONDS).getTotalElements()).isEqualTo(4L);
+            assertThat(countQueries).hasValue(1);
+        } finally {
+            release.countDown();
+            caller.shutdownNow();
+            singleThread.shutdown();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.give928.querydsl.repository.support;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberCountCacheTest {
+    MemberCountCache memberCountCache = new MemberCountCache(Duration.ofMinutes(1), Duration.ofMinutes(5), 100);
+
+    @Test
+    @DisplayName("정규화한 조건이 같으면 count 쿼리를 다시 실행하지 않는다.")
+    void cached() {
+        // given
+        AtomicInteger queryCount = new AtomicInteger();
+        MemberSearchCondition condition1 = MemberSearchCondition.builder().username("").ageGoe(10).build();
+        MemberSearchCondition condition2 = MemberSearchCondition.builder().ageGoe(10).build();
+
+        // when
+        long count1 = memberCountCache.getCount(condition1, () -> queryCount.incrementAndGet() * 10L);
+        long count2 = memberCountCache.getCount(condition2, () -> queryCount.incrementAndGet() * 10L);
+
+        // then
+        assertThat(count1).isEqualTo(10L);
+        assertThat(count2).isEqualTo(10L);
+        assertThat(queryCount).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Member 가 변경되면 exact 는 다시 조회하고, estimated 는 이전 값을 사용한다.")
+    void invalidate() {
+        // given
+        AtomicInteger queryCount = new AtomicInteger();
+        MemberSearchCondition condition = MemberSearchCondition.builder().build();
+        memberCountCache.getCount(condition, () -> queryCount.incrementAndGet() * 10L);
+
+        // when
+        memberCountCache.onEntityChanged(EntityChangedEvent.bulk(Member.class));
+        long estimated = memberCountCache.getEstimatedCount(condition, () -> queryCount.incrementAndGet() * 10L);
+        long exact = memberCountCache.getCount(condition, () -> queryCount.incrementAndGet() * 10L);
+
+        // then
+        assertThat(estimated).isEqualTo(10L);
+        assertThat(exact).isEqualTo(20L);
+        assertThat(queryCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("한 트랜잭션에서 여러 번 변경되어도 커밋 이후 무효화는 한 번만 등록한다.")
+    void synchronizationPerTransaction() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            for (int i = 0; i < 3; i++) {
+                memberCountCache.onEntityChanged(EntityChangedEvent.bulk(Member.class));
+            }
+
+            // then
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.give928.querydsl.repository.support;
+
+import com.give928.querydsl.dto.MemberSearchCondition;
+import com.give928.querydsl.dto.MemberTeamDto;
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.repository.MemberJpaRepository;
+import com.give928.querydsl.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결과 캐시는 트랜잭션 밖(또는 읽기 전용)에서만 사용하므로 테스트 트랜잭션(롤백) 없이 실행하고 직접 정리한다.
+ */
+@SpringBootTest
+class MemberSearchResultCacheTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberSearchResultCache memberSearchResultCache;
+
+    TransactionTemplate transaction;
+    Long teamId;
+    List<Long> memberIds = new ArrayList<>();
+    MemberSearchCondition teamCondition = MemberSearchCondition.builder().teamName("resultCacheTeam").build();
+    MemberSearchCondition otherCondition = MemberSearchCondition.builder().ageGoe(1000).build();
+
+    @BeforeEach
+    void setUp() {
+        memberSearchResultCache.invalidateAll();
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Team team = Team.builder().name("resultCacheTeam").build();
+            em.persist(team);
+            teamId = team.getId();
+            for (int i = 0; i < 2; i++) {
+                Member member = Member.builder().username("resultCache" + i).age(10 + i * 10).team(team).build();
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.id in :ids").setParameter("ids", memberIds).executeUpdate();
+            em.createQuery("delete from Team t where t.id = :id").setParameter("id", teamId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("결과 캐시 - 같은 조건은 DB 를 다시 조회하지 않고, 회원 변경은 영향을 받는 조건만 제거한다.")
+    void invalidateAffected() {
+        // given
+        memberJpaRepository.search(teamCondition);
+        memberJpaRepository.search(otherCondition);
+        transaction.executeWithoutResult(status -> em.find(Member.class, memberIds.get(0))
+                .update("resultCacheUpdated", 50));
+        int before = SqlStatementCounter.total();
+
+        // when
+        List<MemberTeamDto> other = memberJpaRepository.search(otherCondition);
+        int afterOther = SqlStatementCounter.total();
+        List<MemberTeamDto> result = memberJpaRepository.search(teamCondition);
+
+        // then
+        assertThat(afterOther).isEqualTo(before);
+        assertThat(other).isEmpty();
+        assertThat(SqlStatementCounter.total()).isGreaterThan(afterOther);
+        assertThat(result).extracting("username").containsExactlyInAnyOrder("resultCacheUpdated", "resultCache1");
+    }
+
+    @Test
+    @DisplayName("결과 캐시 - 한 트랜잭션의 변경은 모아 두었다가 커밋 이후 한 번에 제거한다.")
+    void invalidateAfterCommit() {
+        // given
+        memberJpaRepository.search(teamCondition);
+        memberJpaRepository.search(otherCondition);
+
+        // when
+        long beforeCommit = transaction.execute(status -> {
+            for (Long memberId : memberIds) {
+                em.find(Member.class, memberId).update("resultCacheCommitted" + memberId, 30);
+            }
+            em.flush();
+            return memberSearchResultCache.size();
+        });
+
+        // then
+        assertThat(beforeCommit).isEqualTo(2);
+        assertThat(memberSearchResultCache.size()).isEqualTo(1);
+        assertThat(memberJpaRepository.search(teamCondition)).extracting("age").containsExactly(30, 30);
+    }
+
+    @Test
+    @DisplayName("결과 캐시 - 결과 행 수가 max-entry-rows 보다 많으면 캐시하지 않는다.")
+    void skipLargeResult() {
+        // given
+        Object maxEntryRows = ReflectionTestUtils.getField(memberSearchResultCache, "maxEntryRows");
+        ReflectionTestUtils.setField(memberSearchResultCache, "maxEntryRows", 1);
+        try {
+            // when
+            List<MemberTeamDto> result = memberJpaRepository.search(teamCondition);
+
+            // then
+            assertThat(result).hasSize(2);
+            assertThat(memberSearchResultCache.size()).isZero();
+        } finally {
+            ReflectionTestUtils.setField(memberSearchResultCache, "maxEntryRows", maxEntryRows);
+        }
+    }
+
+    @Test
+    @DisplayName("결과 캐시 - 벌크 연산은 전체를 제거한다.")
+    void invalidateAllByBulk() {
+        // given
+        memberJpaRepository.search(teamCondition);
+        memberJpaRepository.search(otherCondition);
+
+        // when
+        transaction.executeWithoutResult(status -> em
+                .createQuery("update Member m set m.age = m.age + 1 where m.id in :ids")
+                .setParameter("ids", memberIds)
+                .executeUpdate());
+
+        // then
+        assertThat(memberSearchResultCache.size()).isZero();
+        assertThat(memberJpaRepository.search(teamCondition)).extracting("age").containsExactlyInAnyOrder(11, 21);
+    }
+}
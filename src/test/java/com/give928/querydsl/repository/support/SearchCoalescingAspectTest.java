@@ -0,0 +1,144 @@
+package com.give928.querydsl.repository.support;
+
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchCoalescingAspectTest {
+    TableVersion tableVersion = new TableVersion();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    SearchCoalescingAspect aspect = new SearchCoalescingAspect(true, Duration.ofSeconds(5), tableVersion, meterRegistry);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("동시에 들어온 같은 검색은 한 번만 실행하고 수정할 수 없는 결과를 함께 사용한다.")
+    void coalesce() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint joinPoint = joinPoint(() -> {
+            executions.incrementAndGet();
+            started.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return new ArrayList<>(List.of("member1"));
+        });
+
+        // when
+        Future<Object> leader = executor.submit(() -> aspect.coalesce(joinPoint));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Object> follower = executor.submit(() -> aspect.coalesce(joinPoint));
+        while (meterRegistry.counter("member.repository.coalesced").count() < 1 && !follower.isDone()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then
+        Object result = leader.get(5, TimeUnit.SECONDS);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThatThrownBy(() -> ((List<Object>) result).add("member2"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(aspect.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("먼저 시작한 검색이 timeout 안에 끝나지 않으면 기다리지 않고 직접 실행한다.")
+    void proceedAfterTimeout() throws Throwable {
+        // given
+        SearchCoalescingAspect shortTimeout = new SearchCoalescingAspect(true, Duration.ofMillis(100), tableVersion,
+                meterRegistry);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint joinPoint = joinPoint(() -> {
+            if (executions.incrementAndGet() == 1) {
+                started.countDown();
+                assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+                return List.of("slow");
+            }
+            return List.of("fast");
+        });
+        Future<Object> leader = executor.submit(() -> shortTimeout.coalesce(joinPoint));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        Object result = shortTimeout.coalesce(joinPoint);
+        release.countDown();
+
+        // then
+        assertThat(result).isEqualTo(List.of("fast"));
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(List.of("slow"));
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("먼저 시작한 검색 이후 변경이 있으면 합류하지 않고 직접 실행한다.")
+    void notCoalesceAfterChange() throws Throwable {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint joinPoint = joinPoint(() -> {
+            if (executions.incrementAndGet() == 1) {
+                started.countDown();
+                assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+                return List.of("before");
+            }
+            return List.of("after");
+        });
+        Future<Object> leader = executor.submit(() -> aspect.coalesce(joinPoint));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        tableVersion.onEntityChanged(EntityChangedEvent.bulk(Member.class));
+        Object result = aspect.coalesce(joinPoint);
+        release.countDown();
+
+        // then
+        assertThat(result).isEqualTo(List.of("after"));
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(List.of("before"));
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    private ProceedingJoinPoint joinPoint(Execution execution) throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.toLongString()).thenReturn("MemberRepositoryCustom.search(MemberSearchCondition)");
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"member"});
+        when(joinPoint.proceed()).thenAnswer(invocation -> execution.execute());
+        return joinPoint;
+    }
+
+    @FunctionalInterface
+    private interface Execution {
+        Object execute() throws Exception;
+    }
+}
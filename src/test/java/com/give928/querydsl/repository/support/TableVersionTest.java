@@ -0,0 +1,77 @@
+package com.give928.querydsl.repository.support;
+
+import com.give928.querydsl.entity.Member;
+import com.give928.querydsl.entity.Team;
+import com.give928.querydsl.entity.event.EntityChangedEvent;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+
+import static com.give928.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TableVersionTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TableVersion tableVersion;
+
+    @Test
+    @DisplayName("엔티티 변경이 flush 되면 버전이 올라간다.")
+    void entityChanged() {
+        // given
+        long team = tableVersion.current(Team.class);
+        long member = tableVersion.current(Member.class);
+
+        // when
+        em.persist(Team.builder().name("teamA").build());
+        em.flush();
+
+        // then
+        assertThat(tableVersion.current(Team.class)).isGreaterThan(team);
+        assertThat(tableVersion.current(Member.class)).isEqualTo(member);
+    }
+
+    @Test
+    @DisplayName("벌크 연산도 버전을 올린다.")
+    void bulk() {
+        // given
+        long version = tableVersion.current(Member.class, Team.class);
+
+        // when
+        new JPAQueryFactory(em)
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .execute();
+
+        // then
+        assertThat(tableVersion.current(Member.class, Team.class)).isGreaterThan(version);
+    }
+
+    @Test
+    @DisplayName("한 트랜잭션에서 여러 건이 변경되어도 커밋 이후 버전은 타입별로 한 번만 올린다.")
+    void synchronizationPerEntityType() {
+        // given
+        TableVersion version = new TableVersion();
+        int synchronizations = TransactionSynchronizationManager.getSynchronizations().size();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            version.onEntityChanged(EntityChangedEvent.bulk(Member.class));
+        }
+        version.onEntityChanged(EntityChangedEvent.bulk(Team.class));
+
+        // then
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(synchronizations + 2);
+        assertThat(version.current(Member.class)).isEqualTo(3);
+    }
+}
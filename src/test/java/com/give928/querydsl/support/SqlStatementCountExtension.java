@@ -0,0 +1,15 @@
+package com.give928.querydsl.support;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * 테스트마다 SqlStatementCounter 를 초기화한다.
+ * {@code @ExtendWith(SqlStatementCountExtension.class)}
+ */
+public class SqlStatementCountExtension implements BeforeEachCallback {
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SqlStatementCounter.reset();
+    }
+}
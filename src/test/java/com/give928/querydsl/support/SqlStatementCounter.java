@@ -0,0 +1,74 @@
+package com.give928.querydsl.support;
+
+import com.give928.querydsl.monitoring.RepositoryInvocation;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 하이버네이트가 준비하는 SQL 수를 센다. (테스트 application.yml 의 hibernate.session_factory.statement_inspector)
+ * 병렬 count 쿼리처럼 다른 스레드에서 실행한 SQL 도 함께 세도록 스레드 구분 없이 전역으로 센다.
+ * 리포지토리 메서드 안에서 실행된 SQL 은 RepositoryInvocation 기준으로 메서드별로도 센다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final AtomicInteger TOTAL = new AtomicInteger();
+    private static final Map<String, AtomicInteger> BY_REPOSITORY_METHOD = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        TOTAL.incrementAndGet();
+        String method = RepositoryInvocation.current();
+        if (method != null) {
+            BY_REPOSITORY_METHOD.computeIfAbsent(method, key -> new AtomicInteger()).incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        TOTAL.set(0);
+        BY_REPOSITORY_METHOD.clear();
+    }
+
+    public static int total() {
+        return TOTAL.get();
+    }
+
+    /**
+     * @return 리포지토리 메서드(RepositoryMetricsAspect 의 method 태그)별 SQL 수
+     */
+    public static Map<String, Integer> byRepositoryMethod() {
+        Map<String, Integer> counts = new TreeMap<>();
+        BY_REPOSITORY_METHOD.forEach((method, count) -> counts.put(method, count.get()));
+        return counts;
+    }
+
+    /**
+     * @return action 이 실행한 SQL 수
+     * 영속성 컨텍스트에 쌓인 insert 등이 함께 세어지지 않도록 호출 전에 flush 해야 한다.
+     */
+    public static int countStatements(Runnable action) {
+        int before = total();
+        action.run();
+        return total() - before;
+    }
+
+    /**
+     * action 이 실행한 SQL 이 max 개 이하인지 검증한다. (countStatements)
+     */
+    public static <T> T assertMaxStatements(int max, Supplier<T> action) {
+        List<T> result = new ArrayList<>(1);
+        int executed = countStatements(() -> result.add(action.get()));
+        assertThat(executed)
+                .as("SQL 수 %d 개 초과 (실행 %d 개, 메서드별 %s)", max, executed, byRepositoryMethod())
+                .isLessThanOrEqualTo(max);
+        return result.get(0);
+    }
+}
@@ -0,0 +1,39 @@
+package com.give928.querydsl.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongIntHashMapTest {
+    @Test
+    @DisplayName("추가, 삭제를 반복해도 HashMap 과 같은 값을 반환한다.")
+    void sameAsHashMap() {
+        // given
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(928);
+
+        // when
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(5_000) + 1;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo(removed != null ? removed : LongIntHashMap.MISSING);
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        // then
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, LongIntHashMap.MISSING));
+        }
+    }
+}